@@ -0,0 +1,212 @@
+package net.sievert.item_blacklist;
+
+import com.mojang.serialization.Codec;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.collection.Int2ObjectBiMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EmptyBlockView;
+import net.minecraft.world.chunk.ArrayPalette;
+import net.minecraft.world.chunk.BiMapPalette;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.Palette;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.SingularPalette;
+import net.minecraft.world.chunk.WorldChunk;
+
+import static net.sievert.item_blacklist.BlacklistLogger.*;
+import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
+
+/**
+ * Opt-in replacement of blacklisted blocks in already generated terrain.
+ * A block is blacklisted when its block item is. Each loaded chunk section
+ * is rewritten at the palette level: only the palette entries are swapped
+ * for the replacement state, the packed block indices are left untouched,
+ * so the cost scales with the number of distinct states, not blocks.
+ *
+ * <p>Only opaque full-cube states that emit no light are swapped, and only
+ * for a replacement of the same kind, so heightmaps and lighting stay valid
+ * without a recompute. Sections backed by the global palette are skipped,
+ * as are blocks with a block entity; swapping those would orphan the block
+ * entity. Chunks are stamped with the fingerprint they were remapped
+ * against and only revisited after the blacklist or the replacement changes.
+ */
+public final class BlacklistBlockRemap {
+    /** Fingerprint of the blacklist and replacement a chunk was last remapped against. */
+    public static final AttachmentType<Long> BLOCKS_REMAPPED = AttachmentRegistry.createPersistent(
+            Identifier.of(ItemBlacklist.MOD_ID, "blocks_remapped"), Codec.LONG);
+
+    /** Blacklisted flags by block raw id, for {@link #tableVersion}. */
+    private static boolean[] blacklistedBlocks = new boolean[0];
+    private static long tableVersion = -1L;
+    private static Identifier tableReplacement = null;
+
+    /** Replacement state resolved for {@link #resolvedId}, or null if it is unusable. */
+    private static Identifier resolvedId = null;
+    private static BlockState resolvedState = null;
+
+    private static long chunksRemapped = 0L;
+    private static long paletteEntriesReplaced = 0L;
+    private static long sectionsSkipped = 0L;
+
+    private BlacklistBlockRemap() {}
+
+    public static void init() {
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> {
+            BlacklistConfig config = ItemBlacklist.CONFIG;
+            if (config != null && config.replaceBlacklistedBlocks) replacement(config.blockReplacement);
+        });
+        ServerChunkEvents.CHUNK_LOAD.register(BlacklistBlockRemap::onChunkLoad);
+    }
+
+    /**
+     * Resolves the configured replacement, warning once per id if it is
+     * unknown or not an opaque, non-emissive full block.
+     *
+     * @return the replacement state, or null to leave terrain untouched
+     */
+    private static BlockState replacement(Identifier id) {
+        if (id.equals(resolvedId)) return resolvedState;
+
+        BlockState state = null;
+        if (!Registries.BLOCK.containsId(id)) {
+            warn(INIT, "Unknown Block Replacement \"" + id + "\"; blacklisted blocks will not be replaced");
+        } else {
+            BlockState candidate = Registries.BLOCK.get(id).getDefaultState();
+            if (isSwappable(candidate)) {
+                state = candidate;
+            } else {
+                warn(INIT, "Block Replacement \"" + id + "\" is not an opaque full block without light; " +
+                        "blacklisted blocks will not be replaced");
+            }
+        }
+        resolvedId = id;
+        resolvedState = state;
+        return state;
+    }
+
+    /** True if swapping the state for another such state leaves light and heightmaps unchanged. */
+    private static boolean isSwappable(BlockState state) {
+        return !state.isAir()
+                && state.isOpaqueFullCube(EmptyBlockView.INSTANCE, BlockPos.ORIGIN)
+                && state.getLuminance() == 0;
+    }
+
+    private static void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        BlacklistConfig config = ItemBlacklist.CONFIG;
+        if (config == null || !config.replaceBlacklistedBlocks) return;
+
+        BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+        long fingerprint = snapshot.fingerprint() * 31L + config.blockReplacement.hashCode();
+        Long stamp = chunk.getAttached(BLOCKS_REMAPPED);
+        if (stamp != null && stamp == fingerprint) return;
+
+        BlockState replacement = replacement(config.blockReplacement);
+        if (replacement == null) return;
+        boolean[] table = table(snapshot, config.blockReplacement, replacement.getBlock());
+
+        int replaced = 0;
+        for (ChunkSection section : chunk.getSectionArray()) {
+            if (section.isEmpty()) continue;
+            int sectionReplaced = remap(section.getBlockStateContainer(), table, replacement);
+            if (sectionReplaced > 0) {
+                section.calculateCounts();
+                replaced += sectionReplaced;
+            }
+        }
+
+        chunk.setAttached(BLOCKS_REMAPPED, fingerprint);
+        chunk.setNeedsSaving(true);
+        chunksRemapped++;
+        paletteEntriesReplaced += replaced;
+    }
+
+    /** Returns the blacklisted-block table for the given snapshot, rebuilding it if stale. */
+    private static boolean[] table(BlacklistSnapshot snapshot, Identifier replacementId, Block replacement) {
+        if (tableVersion == snapshot.version() && replacementId.equals(tableReplacement)) {
+            return blacklistedBlocks;
+        }
+
+        BlacklistIndex index = snapshot.index();
+        boolean[] table = new boolean[Registries.BLOCK.size()];
+        for (Block block : Registries.BLOCK) {
+            if (block == Blocks.AIR || block == replacement) continue;
+            if (block.getDefaultState().hasBlockEntity()) continue;
+            Item item = block.asItem();
+            if (item == Items.AIR) continue;
+            int rawId = Registries.BLOCK.getRawId(block);
+            if (rawId < table.length && index.contains(item)) table[rawId] = true;
+        }
+
+        blacklistedBlocks = table;
+        tableVersion = snapshot.version();
+        tableReplacement = replacementId;
+        return table;
+    }
+
+    private static boolean isBlacklisted(Object entry, boolean[] table) {
+        if (!(entry instanceof BlockState state)) return false;
+        int rawId = Registries.BLOCK.getRawId(state.getBlock());
+        return rawId >= 0 && rawId < table.length && table[rawId] && isSwappable(state);
+    }
+
+    /**
+     * Swaps blacklisted states in a container's palette for the replacement.
+     * Replaced entries may duplicate an existing palette entry; lookups by
+     * index stay correct and the palette is compacted when the chunk is saved.
+     *
+     * @return number of palette entries replaced
+     */
+    private static int remap(PalettedContainer<BlockState> container, boolean[] table, BlockState replacement) {
+        Palette<BlockState> palette = container.data.palette();
+        int replaced = 0;
+
+        if (palette instanceof SingularPalette<?> singular) {
+            if (isBlacklisted(singular.entry, table)) {
+                ((SingularPalette<BlockState>) singular).entry = replacement;
+                replaced++;
+            }
+        } else if (palette instanceof ArrayPalette<?> array) {
+            Object[] entries = array.array;
+            for (int i = 0; i < array.getSize(); i++) {
+                if (isBlacklisted(entries[i], table)) {
+                    entries[i] = replacement;
+                    replaced++;
+                }
+            }
+        } else if (palette instanceof BiMapPalette<?> biMap) {
+            int size = biMap.getSize();
+            for (int i = 0; i < size; i++) {
+                if (isBlacklisted(biMap.get(i), table)) replaced++;
+            }
+            if (replaced > 0) {
+                // The bimap hashes by value, so it is rebuilt with the same ids.
+                Int2ObjectBiMap<BlockState> map = Int2ObjectBiMap.create(size);
+                for (int i = 0; i < size; i++) {
+                    BlockState state = (BlockState) biMap.get(i);
+                    map.put(isBlacklisted(state, table) ? replacement : state, i);
+                }
+                ((BiMapPalette<BlockState>) biMap).map = map;
+            }
+        } else {
+            // Global palette: the indices are raw state ids and cannot be remapped.
+            sectionsSkipped++;
+        }
+
+        return replaced;
+    }
+
+    public static long chunksRemapped() { return chunksRemapped; }
+    public static long paletteEntriesReplaced() { return paletteEntriesReplaced; }
+    public static long sectionsSkipped() { return sectionsSkipped; }
+}
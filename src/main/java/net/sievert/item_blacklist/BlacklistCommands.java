@@ -0,0 +1,76 @@
+package net.sievert.item_blacklist;
+
+import com.mojang.brigadier.CommandDispatcher;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+import java.io.IOException;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+/**
+ * Registers the {@code /itemblacklist} operator command.
+ */
+public final class BlacklistCommands {
+    private BlacklistCommands() {}
+
+    public static void init() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> register(dispatcher));
+    }
+
+    private static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("itemblacklist")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(literal("stats").executes(context -> {
+                    ServerCommandSource source = context.getSource();
+                    BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+                    source.sendFeedback(() -> Text.literal("Blacklist v" + snapshot.version() + ": " +
+                            snapshot.size() + " " + BlacklistLogger.pluralize(snapshot.size(), "item", "items") + ", " +
+                            BlacklistPredicates.current().size() + " component " +
+                            BlacklistLogger.pluralize(BlacklistPredicates.current().size(), "entry", "entries") + ", " +
+                            BlacklistScopes.current().size() + " " +
+                            BlacklistLogger.pluralize(BlacklistScopes.current().size(), "scope", "scopes")), false);
+                    source.sendFeedback(() -> Text.literal("Purge queue: " +
+                            BlacklistPurgeScheduler.priorityDepth() + " priority, " +
+                            BlacklistPurgeScheduler.normalDepth() + " normal; last tick " +
+                            BlacklistPurgeScheduler.lastTickMicros() + " µs, average " +
+                            BlacklistPurgeScheduler.averageTickMicros() + " µs"), false);
+                    source.sendFeedback(() -> Text.literal("Purged so far: " +
+                            BlacklistPurgeScheduler.sweepsCompleted() + " full sweeps, " +
+                            BlacklistPurgeScheduler.slotsChecked() + " slots checked, " +
+                            BlacklistPurgeScheduler.stacksRemoved() + " stacks removed"), false);
+                    source.sendFeedback(() -> Text.literal("World scrub: " +
+                            BlacklistWorldScrub.chunksScrubbed() + " chunks, " +
+                            BlacklistWorldScrub.entitiesScrubbed() + " entities, " +
+                            BlacklistWorldScrub.stacksRemoved() + " stacks removed"), false);
+                    source.sendFeedback(() -> Text.literal("Block remap: " +
+                            BlacklistBlockRemap.chunksRemapped() + " chunks, " +
+                            BlacklistBlockRemap.paletteEntriesReplaced() + " palette entries replaced, " +
+                            BlacklistBlockRemap.sectionsSkipped() + " global-palette sections skipped"), false);
+                    source.sendFeedback(() -> Text.literal("Transfers: " +
+                            BlacklistTransfers.voided() + " voided, " +
+                            BlacklistTransfers.rejected() + " refused"), false);
+                    source.sendFeedback(() -> Text.literal("Saved merchant offers removed: " +
+                            BlacklistMerchants.offersRemoved()), false);
+                    source.sendFeedback(() -> Text.literal("Mob equipment stripped at spawn: " +
+                            BlacklistSpawnGuard.equipmentStripped()), false);
+                    BlacklistSpawnGuard.blockedBySource().forEach((spawnSource, count) ->
+                            source.sendFeedback(() -> Text.literal("Blocked item spawns from " + spawnSource + ": " + count), false));
+                    return 1;
+                }))
+                .then(literal("scrub")
+                        .requires(source -> source.hasPermissionLevel(4))
+                        .executes(context -> {
+                            try {
+                                BlacklistOfflineScrubber.request();
+                            } catch (IOException e) {
+                                context.getSource().sendError(Text.literal("Could not schedule offline scrub: " + e.getMessage()));
+                                return 0;
+                            }
+                            context.getSource().sendFeedback(() -> Text.literal(
+                                    "Offline scrub scheduled; it runs on the next server start, before worlds load."), true);
+                            return 1;
+                        })));
+    }
+}
@@ -3,6 +3,7 @@ package net.sievert.item_blacklist;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import net.fabricmc.loader.api.FabricLoader;
@@ -20,21 +21,29 @@ import net.sievert.item_blacklist.BlacklistLogger.Group;
 
 /**
  * Configuration class for Item Blacklist.
- * Loads blacklist entries from JSON config and
- * provides both raw and validated sets.
+ * Loads blacklist entries from JSON config. Validated
+ * entries are published separately as a {@link BlacklistSnapshot}.
  */
 public class BlacklistConfig {
     private static final String CONFIG_FILE = "item_blacklist.json";
     private static final List<String> COMMENT_EXAMPLES = List.of(
             "    // \"minecraft:iron_ingot\",",
-            "    // \"mod_id:mod_item\""
+            "    // \"mod_id:mod_item\",",
+            "    // \"mod_id:*\",",
+            "    // \"*:raw_*_block\",",
+            "    // \"/minecraft:.*_spawn_egg/\",",
+            "    // \"#c:ores\",",
+            "    // \"minecraft:potion{potion_contents:'minecraft:strong_harming'}\""
     );
 
     /** Raw identifiers from JSON (never mutated after load). */
     public final Set<String> rawBlacklist = new HashSet<>();
 
-    /** Working/validated list of identifiers set by validation logic. */
-    public Set<Identifier> blacklist = new HashSet<>();
+    /** Pattern entries parsed from {@link #rawBlacklist}. */
+    public BlacklistPatterns patterns = BlacklistPatterns.EMPTY;
+
+    /** Scoped blacklists from the "Scopes" array. */
+    public List<BlacklistScopes.Definition> scopes = List.of();
 
     /** If true, logs every individual loot entry removed and which table it was removed from. */
     public boolean detailedLootTableLog = false;
@@ -48,51 +57,57 @@ public class BlacklistConfig {
     /** If true, logs every individual tag entry removed and which tag it was removed from. */
     public boolean detailedTagLog = false;
 
+    /** If true, watches the config file and applies changes without a restart. */
+    public boolean hotReload = true;
+
     /**
-     * Loads the item blacklist config from file, or creates a default one if missing.
-     * Does not perform validation on entries.
+     * Ticks between full inventory sweeps. Changed slots are checked as
+     * they change; the sweep catches stacks modified in place.
      */
-    public static BlacklistConfig loadOrCreate() {
-        Path configDir = FabricLoader.getInstance().getConfigDir();
-        Path configPath = configDir.resolve(CONFIG_FILE);
+    public int fullSweepInterval = 200;
 
-        BlacklistConfig config = new BlacklistConfig();
+    /** Maximum inventory slots checked by scheduled full sweeps per tick. */
+    public int purgeSlotsPerTick = 512;
 
-        if (configPath.toFile().exists()) {
-            try (Reader reader = new InputStreamReader(new FileInputStream(configPath.toFile()), StandardCharsets.UTF_8)) {
-                JsonElement root = JsonParser.parseReader(reader);
-                if (!root.isJsonObject()) throw new JsonSyntaxException("Root element is not a JSON object");
+    /** Maximum time spent on scheduled full sweeps per tick, in microseconds. */
+    public int purgeMicrosPerTick = 1000;
 
-                JsonObject obj = root.getAsJsonObject();
+    /** How many levels of nested containers (shulker boxes, bundles) to look into. 0 disables. */
+    public int nestedScanDepth = 2;
 
-                JsonElement lootLog = obj.get("Detailed Loot Table Log");
-                if (lootLog != null && lootLog.isJsonPrimitive()) {
-                    config.detailedLootTableLog = lootLog.getAsBoolean();
-                }
+    /** If true, hoppers and transfer storages destroy blacklisted stacks; if false, they refuse them. */
+    public boolean voidBlacklistedTransfers = true;
 
-                JsonElement recipeLog = obj.get("Detailed Recipe Log");
-                if (recipeLog != null && recipeLog.isJsonPrimitive()) {
-                    config.detailedRecipeLog = recipeLog.getAsBoolean();
-                }
+    /** Item given to mobs in place of blacklisted spawn equipment, or null to leave the slot empty. */
+    public Identifier mobEquipmentReplacement = null;
 
-                JsonElement tradeLog = obj.get("Detailed Trade Log");
-                if (tradeLog != null && tradeLog.isJsonPrimitive()) {
-                    config.detailedTradeLog = tradeLog.getAsBoolean();
-                }
+    /** If true, blocks of blacklisted block items are replaced in loaded chunks. */
+    public boolean replaceBlacklistedBlocks = false;
 
-                JsonElement tagLog = obj.get("Detailed Tag Log");
-                if (tagLog != null && tagLog.isJsonPrimitive()) {
-                    config.detailedTagLog = tagLog.getAsBoolean();
-                }
+    /** Block placed in place of blacklisted blocks when block replacement is enabled. */
+    public Identifier blockReplacement = Identifier.ofVanilla("stone");
 
-                JsonArray arr = obj.getAsJsonArray("Blacklist");
-                if (arr != null) {
-                    for (JsonElement el : arr) {
-                        if (el.isJsonPrimitive() && el.getAsJsonPrimitive().isString()) {
-                            config.rawBlacklist.add(el.getAsString());
-                        }
-                    }
-                }
+    /** If true, the client loads a placeholder model for blacklisted items instead of their own. */
+    public boolean placeholderBlacklistedModels = false;
+
+    /** Returns the path of the config file. */
+    public static Path configPath() {
+        return FabricLoader.getInstance().getConfigDir().resolve(CONFIG_FILE);
+    }
+
+    /**
+     * Loads the item blacklist config from file, or creates a default one if missing.
+     * Does not perform validation on entries.
+     */
+    public static BlacklistConfig loadOrCreate() {
+        Path configDir = FabricLoader.getInstance().getConfigDir();
+        Path configPath = configPath();
+
+        BlacklistConfig config = new BlacklistConfig();
+
+        if (configPath.toFile().exists()) {
+            try {
+                config = read(configPath);
             } catch (Exception e) {
                 BlacklistLogger.warn(Group.INIT, "Failed to load config: malformed JSON. Using empty blacklist.");
             }
@@ -108,6 +123,17 @@ public class BlacklistConfig {
                 writer.println("  \"Detailed Recipe Log\": false,");
                 writer.println("  \"Detailed Trade Log\": false,");
                 writer.println("  \"Detailed Tag Log\": false,");
+                writer.println("  \"Hot Reload\": true,");
+                writer.println("  \"Full Sweep Interval\": 200,");
+                writer.println("  \"Purge Slots Per Tick\": 512,");
+                writer.println("  \"Purge Micros Per Tick\": 1000,");
+                writer.println("  \"Nested Scan Depth\": 2,");
+                writer.println("  \"Void Blacklisted Transfers\": true,");
+                writer.println("  \"Mob Equipment Replacement\": \"\",");
+                writer.println("  \"Replace Blacklisted Blocks\": false,");
+                writer.println("  \"Block Replacement\": \"minecraft:stone\",");
+                writer.println("  \"Placeholder Blacklisted Models\": false,");
+                writer.println("  \"Scopes\": [],");
                 writer.println("  \"Blacklist\": [");
                 for (String example : COMMENT_EXAMPLES) writer.println(example);
                 writer.println("  ]");
@@ -123,4 +149,117 @@ public class BlacklistConfig {
                 BlacklistLogger.pluralize(config.rawBlacklist.size(), "entry", "entries"));
         return config;
     }
+
+    /**
+     * Parses the config file at the given path.
+     * Does not perform validation on entries.
+     *
+     * @throws IOException if the file cannot be read
+     * @throws JsonParseException if the file is not a valid config object
+     */
+    public static BlacklistConfig read(Path configPath) throws IOException {
+        BlacklistConfig config = new BlacklistConfig();
+
+        try (Reader reader = new InputStreamReader(new FileInputStream(configPath.toFile()), StandardCharsets.UTF_8)) {
+            JsonElement root = JsonParser.parseReader(reader);
+            if (!root.isJsonObject()) throw new JsonSyntaxException("Root element is not a JSON object");
+
+            JsonObject obj = root.getAsJsonObject();
+
+            JsonElement lootLog = obj.get("Detailed Loot Table Log");
+            if (lootLog != null && lootLog.isJsonPrimitive()) {
+                config.detailedLootTableLog = lootLog.getAsBoolean();
+            }
+
+            JsonElement recipeLog = obj.get("Detailed Recipe Log");
+            if (recipeLog != null && recipeLog.isJsonPrimitive()) {
+                config.detailedRecipeLog = recipeLog.getAsBoolean();
+            }
+
+            JsonElement tradeLog = obj.get("Detailed Trade Log");
+            if (tradeLog != null && tradeLog.isJsonPrimitive()) {
+                config.detailedTradeLog = tradeLog.getAsBoolean();
+            }
+
+            JsonElement tagLog = obj.get("Detailed Tag Log");
+            if (tagLog != null && tagLog.isJsonPrimitive()) {
+                config.detailedTagLog = tagLog.getAsBoolean();
+            }
+
+            JsonElement hotReload = obj.get("Hot Reload");
+            if (hotReload != null && hotReload.isJsonPrimitive()) {
+                config.hotReload = hotReload.getAsBoolean();
+            }
+
+            JsonElement sweepInterval = obj.get("Full Sweep Interval");
+            if (sweepInterval != null && sweepInterval.isJsonPrimitive()) {
+                config.fullSweepInterval = Math.max(1, sweepInterval.getAsInt());
+            }
+
+            JsonElement slotsPerTick = obj.get("Purge Slots Per Tick");
+            if (slotsPerTick != null && slotsPerTick.isJsonPrimitive()) {
+                config.purgeSlotsPerTick = Math.max(1, slotsPerTick.getAsInt());
+            }
+
+            JsonElement microsPerTick = obj.get("Purge Micros Per Tick");
+            if (microsPerTick != null && microsPerTick.isJsonPrimitive()) {
+                config.purgeMicrosPerTick = Math.max(1, microsPerTick.getAsInt());
+            }
+
+            JsonElement nestedDepth = obj.get("Nested Scan Depth");
+            if (nestedDepth != null && nestedDepth.isJsonPrimitive()) {
+                config.nestedScanDepth = Math.max(0, nestedDepth.getAsInt());
+            }
+
+            JsonElement voidTransfers = obj.get("Void Blacklisted Transfers");
+            if (voidTransfers != null && voidTransfers.isJsonPrimitive()) {
+                config.voidBlacklistedTransfers = voidTransfers.getAsBoolean();
+            }
+
+            JsonElement replacement = obj.get("Mob Equipment Replacement");
+            if (replacement != null && replacement.isJsonPrimitive() && !replacement.getAsString().isEmpty()) {
+                config.mobEquipmentReplacement = Identifier.tryParse(replacement.getAsString());
+                if (config.mobEquipmentReplacement == null) {
+                    BlacklistLogger.warn(Group.INIT, "Invalid Mob Equipment Replacement: \"" + replacement.getAsString() + "\"; leaving slots empty");
+                }
+            }
+
+            JsonElement replaceBlocks = obj.get("Replace Blacklisted Blocks");
+            if (replaceBlocks != null && replaceBlocks.isJsonPrimitive()) {
+                config.replaceBlacklistedBlocks = replaceBlocks.getAsBoolean();
+            }
+
+            JsonElement blockReplacement = obj.get("Block Replacement");
+            if (blockReplacement != null && blockReplacement.isJsonPrimitive()) {
+                Identifier id = Identifier.tryParse(blockReplacement.getAsString());
+                if (id != null) {
+                    config.blockReplacement = id;
+                } else {
+                    BlacklistLogger.warn(Group.INIT, "Invalid Block Replacement: \"" + blockReplacement.getAsString() + "\"; using minecraft:stone");
+                }
+            }
+
+            JsonElement placeholderModels = obj.get("Placeholder Blacklisted Models");
+            if (placeholderModels != null && placeholderModels.isJsonPrimitive()) {
+                config.placeholderBlacklistedModels = placeholderModels.getAsBoolean();
+            }
+
+            JsonArray arr = obj.getAsJsonArray("Blacklist");
+            if (arr != null) {
+                for (JsonElement el : arr) {
+                    if (el.isJsonPrimitive() && el.getAsJsonPrimitive().isString()) {
+                        config.rawBlacklist.add(el.getAsString());
+                    }
+                }
+            }
+
+            JsonArray scopes = obj.getAsJsonArray("Scopes");
+            if (scopes != null) {
+                config.scopes = BlacklistScopes.parse(scopes);
+            }
+        }
+
+        config.patterns = BlacklistPatterns.parse(config.rawBlacklist);
+        return config;
+    }
 }
@@ -0,0 +1,156 @@
+package net.sievert.item_blacklist;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static net.sievert.item_blacklist.BlacklistLogger.*;
+import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
+
+/**
+ * Watches item_blacklist.json for changes while a server is running.
+ * Parses and validates the changed file off-thread, builds the next
+ * snapshot, then hands the diff to {@link BlacklistHotReload} on the
+ * server thread.
+ */
+public final class BlacklistConfigWatcher {
+    /** Editors often write a file in several steps; wait for them to settle. */
+    private static final long SETTLE_MILLIS = 500L;
+
+    private static WatchService watchService;
+    private static Thread thread;
+
+    private BlacklistConfigWatcher() {}
+
+    /** Starts watching when a server starts and stops when it stops. */
+    public static void init() {
+        ServerLifecycleEvents.SERVER_STARTED.register(BlacklistConfigWatcher::start);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> stop());
+    }
+
+    private static synchronized void start(MinecraftServer server) {
+        BlacklistConfig config = ItemBlacklist.CONFIG;
+        if (config == null || !config.hotReload || thread != null) return;
+
+        Path configPath = BlacklistConfig.configPath();
+        try {
+            watchService = configPath.getFileSystem().newWatchService();
+            configPath.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            warn(RELOAD, "Failed to watch blacklist config; hot reload disabled: " + e);
+            flush();
+            return;
+        }
+
+        WatchService service = watchService;
+        thread = new Thread(() -> run(server, service, configPath), "Item Blacklist Config Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static synchronized void stop() {
+        if (thread == null) return;
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException ignored) {}
+        thread = null;
+        watchService = null;
+    }
+
+    private static void run(MinecraftServer server, WatchService service, Path configPath) {
+        Path fileName = configPath.getFileName();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = service.take();
+                boolean touched = drain(key, fileName);
+
+                // Swallow the burst of events a single save produces.
+                while (touched) {
+                    WatchKey more = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                    if (more == null) break;
+                    drain(more, fileName);
+                }
+
+                if (touched) {
+                    try {
+                        reload(server, configPath);
+                    } catch (RuntimeException e) {
+                        // Keep watching; a later save may fix whatever broke this one.
+                        error(RELOAD, "Blacklist config reload failed; keeping current blacklist: " + e);
+                        server.execute(BlacklistLogger::flush);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Server is stopping.
+        }
+    }
+
+    /** Consumes a key's events and reports whether the config file was among them. */
+    private static boolean drain(WatchKey key, Path fileName) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (fileName.equals(event.context())) touched = true;
+        }
+        key.reset();
+        return touched;
+    }
+
+    /**
+     * Parses and validates the config, diffs it against the current
+     * snapshot, and schedules the result on the server thread.
+     */
+    private static void reload(MinecraftServer server, Path configPath) {
+        BlacklistConfig next;
+        try {
+            next = BlacklistConfig.read(configPath);
+        } catch (Exception e) {
+            warn(RELOAD, "Blacklist config changed but could not be parsed; keeping current blacklist.");
+            server.execute(BlacklistLogger::flush);
+            return;
+        }
+
+        Set<Identifier> valid = new HashSet<>();
+        BlacklistValidator.validateVanillaOnly(next.rawBlacklist, valid);
+        valid.addAll(BlacklistValidator.validateModdedOnly(next.rawBlacklist, new BlacklistValidator.Counter(), new HashSet<>()));
+        valid.addAll(next.patterns.expandRegistry());
+        Set<Identifier> tagIds = next.patterns.expandTags(BlacklistTags.itemTagMembers());
+
+        BlacklistPredicates predicates = BlacklistPredicates.compile(next.rawBlacklist, server.getRegistryManager());
+        BlacklistScopes scopes = BlacklistScopes.compile(next.scopes);
+        BlacklistSnapshot snapshot = BlacklistSnapshot.build(valid, tagIds);
+        BlacklistSnapshot previous = BlacklistSnapshot.current();
+
+        Set<Identifier> added = new HashSet<>(snapshot.ids());
+        added.removeAll(previous.ids());
+        Set<Identifier> removed = new HashSet<>(previous.ids());
+        removed.removeAll(snapshot.ids());
+
+        if (added.isEmpty() && removed.isEmpty()) {
+            server.execute(() -> {
+                ItemBlacklist.CONFIG = next;
+                BlacklistPredicates.publish(predicates);
+                BlacklistScopes.publish(scopes);
+                info(RELOAD, "Blacklist config reloaded; no item entries changed, " + predicates.size() + " " +
+                        pluralize(predicates.size(), "component predicate", "component predicates") + " active.");
+                flush();
+            });
+            return;
+        }
+
+        server.execute(() -> {
+            BlacklistPredicates.publish(predicates);
+            BlacklistScopes.publish(scopes);
+            BlacklistHotReload.apply(server, next, snapshot, added, removed);
+        });
+    }
+}
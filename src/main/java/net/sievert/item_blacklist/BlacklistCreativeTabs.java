@@ -0,0 +1,28 @@
+package net.sievert.item_blacklist;
+
+import net.fabricmc.fabric.api.itemgroup.v1.ItemGroupEvents;
+import net.minecraft.client.MinecraftClient;
+import net.sievert.item_blacklist.api.BlacklistChangedCallback;
+import net.sievert.item_blacklist.mixin.ItemGroupsAccessor;
+
+/**
+ * Client side: keeps blacklisted items out of creative tabs and the
+ * creative search tab. Entries are filtered once, while the tabs are
+ * built; vanilla keeps the built tabs and search tree until the display
+ * context changes, so a blacklist change drops the cached context and
+ * the next creative screen rebuilds both.
+ */
+public final class BlacklistCreativeTabs {
+    private BlacklistCreativeTabs() {}
+
+    public static void init() {
+        ItemGroupEvents.MODIFY_ENTRIES_ALL.register((group, entries) -> {
+            if (BlacklistSnapshot.current().isEmpty() && BlacklistPredicates.current().isEmpty()) return;
+            entries.getDisplayStacks().removeIf(ItemBlacklist::isBlacklisted);
+            entries.getSearchTabStacks().removeIf(ItemBlacklist::isBlacklisted);
+        });
+
+        BlacklistChangedCallback.EVENT.register((version, added, removed) ->
+                MinecraftClient.getInstance().execute(() -> ItemGroupsAccessor.setDisplayContext(null)));
+    }
+}
@@ -0,0 +1,187 @@
+package net.sievert.item_blacklist;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.gson.JsonElement;
+import com.mojang.serialization.JsonOps;
+import com.mojang.datafixers.util.Pair;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryOps;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.entry.RegistryEntryList;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.sievert.item_blacklist.mixin.RecipeManagerAccessor;
+
+import java.util.*;
+
+import static net.sievert.item_blacklist.BlacklistLogger.*;
+import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
+
+/**
+ * Applies a hot-reloaded blacklist to a running server.
+ * Newly blacklisted items are stripped from the live recipes,
+ * loot tables, item tags and trade tables in place. Entries that
+ * were un-blacklisted can only be restored from data packs, so
+ * removals fall back to a data pack reload.
+ *
+ * <p>Live recipes are re-encoded to JSON and scanned with the same rule
+ * the data pack load uses, so a recipe removed here is exactly one a
+ * restart would remove.
+ */
+public final class BlacklistHotReload {
+    private BlacklistHotReload() {}
+
+    /**
+     * Publishes the new snapshot and re-runs only the work
+     * affected by the diff. Must be called on the server thread.
+     */
+    public static void apply(MinecraftServer server, BlacklistConfig config, BlacklistSnapshot snapshot,
+                             Set<Identifier> added, Set<Identifier> removed) {
+        if (!BlacklistSnapshot.publish(snapshot)) {
+            // A tag reload published while this snapshot was built, from the old
+            // base ids; keep its tag ids and put the new base ids on top.
+            snapshot = rebase(snapshot.baseIds());
+        }
+        ItemBlacklist.CONFIG = config;
+
+        info(RELOAD, "Blacklist config reloaded: " +
+                added.size() + " " + pluralize(added.size(), "entry", "entries") + " added, " +
+                removed.size() + " " + pluralize(removed.size(), "entry", "entries") + " removed");
+
+        if (!added.isEmpty()) {
+            int trades = BlacklistVillagerTrades.applyBlacklist();
+            if (trades > 0) {
+                info(TRADE, "Villager trade blacklist: " + trades + " " + pluralize(trades, "trade", "trades") + " removed");
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            // Removed entries must come back from data packs, which also re-applies the additions.
+            int tradesRemoved = BlacklistVillagerTrades.getVanillaRemovedTotal()
+                    + BlacklistVillagerTrades.getFabricRemovedTotal()
+                    + BlacklistVillagerTrades.getOtherRemovedTotal();
+            if (tradesRemoved > 0) {
+                warn(RELOAD, "Trades removed for un-blacklisted items return after a restart.");
+            }
+            info(RELOAD, "Reloading data packs to restore un-blacklisted recipes, loot and tags.");
+            flush();
+            server.reloadResources(server.getDataPackManager().getEnabledIds())
+                    .whenComplete((v, t) -> server.execute(BlacklistLogger::flush));
+            return;
+        }
+
+        int recipes = filterLiveRecipes(server, config, snapshot);
+        int loot = BlacklistLootTables.patchLive(server, config, snapshot);
+        int tags = filterLiveItemTags(config, snapshot);
+
+        if (recipes > 0 || tags > 0) {
+            server.getPlayerManager().onDataPacksReloaded();
+        }
+
+        info(RELOAD, "Hot reload applied: " +
+                recipes + " " + pluralize(recipes, "recipe", "recipes") + ", " +
+                loot + " " + pluralize(loot, "loot entry", "loot entries") + ", " +
+                tags + " " + pluralize(tags, "tag entry", "tag entries") + " removed");
+        flush();
+    }
+
+    /** Publishes the given base ids over the current tag ids, retrying until no publish races it. */
+    private static BlacklistSnapshot rebase(Set<Identifier> baseIds) {
+        while (true) {
+            BlacklistSnapshot current = BlacklistSnapshot.current();
+            BlacklistSnapshot next = BlacklistSnapshot.build(baseIds, current.tagIds());
+            if (BlacklistSnapshot.publishOver(current, next)) return next;
+        }
+    }
+
+    /**
+     * Removes live recipes whose JSON form mentions a blacklisted id,
+     * matching the filter applied when recipes load from data packs.
+     *
+     * @return number of recipes removed
+     */
+    private static int filterLiveRecipes(MinecraftServer server, BlacklistConfig config, BlacklistSnapshot snapshot) {
+        RecipeManagerAccessor accessor = (RecipeManagerAccessor) server.getRecipeManager();
+        RegistryWrapper.WrapperLookup lookup = accessor.item_blacklist$getRegistryLookup();
+        RegistryOps<JsonElement> ops = lookup.getOps(JsonOps.INSTANCE);
+
+        ImmutableMap.Builder<Identifier, RecipeEntry<?>> byId = ImmutableMap.builder();
+        ImmutableMultimap.Builder<RecipeType<?>, RecipeEntry<?>> byType = ImmutableMultimap.builder();
+        int removed = 0;
+
+        for (RecipeEntry<?> entry : accessor.getRecipesById().values()) {
+            if (referencesBlacklisted(entry.value(), ops, lookup, snapshot)) {
+                removed++;
+                if (config.detailedRecipeLog) {
+                    info(RECIPE, "Recipe " + entry.id() + " removed");
+                }
+                continue;
+            }
+            byId.put(entry.id(), entry);
+            byType.put(entry.value().getType(), entry);
+        }
+
+        if (removed > 0) {
+            accessor.setRecipesById(byId.build());
+            accessor.setRecipesByType(byType.build());
+        }
+        return removed;
+    }
+
+    private static boolean referencesBlacklisted(Recipe<?> recipe, RegistryOps<JsonElement> ops,
+                                                 RegistryWrapper.WrapperLookup lookup, BlacklistSnapshot snapshot) {
+        Optional<JsonElement> json = Recipe.CODEC.encodeStart(ops, recipe).result();
+        if (json.isPresent()) return snapshot.idMatcher().matchesAny(json.get());
+
+        // A serializer that cannot encode leaves only the resolved items to check.
+        ItemStack result = recipe.getResult(lookup);
+        if (!result.isEmpty() && snapshot.contains(result.getItem())) return true;
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            for (ItemStack stack : ingredient.getMatchingStacks()) {
+                if (snapshot.contains(stack.getItem())) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes newly blacklisted items from the live item tags.
+     * Tags are only re-bound when something actually changed.
+     *
+     * @return number of tag entries removed
+     */
+    private static int filterLiveItemTags(BlacklistConfig config, BlacklistSnapshot snapshot) {
+        Map<TagKey<Item>, List<RegistryEntry<Item>>> rebuilt = new HashMap<>();
+        int removed = 0;
+
+        for (Pair<TagKey<Item>, RegistryEntryList.Named<Item>> pair : Registries.ITEM.streamTagsAndEntries().toList()) {
+            TagKey<Item> tag = pair.getFirst();
+            List<RegistryEntry<Item>> kept = new ArrayList<>();
+            for (RegistryEntry<Item> entry : pair.getSecond()) {
+                if (snapshot.contains(entry.value())) {
+                    removed++;
+                    if (config.detailedTagLog) {
+                        info(TAG, "Removed " + Registries.ITEM.getId(entry.value()) + " from tag " + tag.id());
+                    }
+                    continue;
+                }
+                kept.add(entry);
+            }
+            rebuilt.put(tag, kept);
+        }
+
+        if (removed > 0) {
+            Registries.ITEM.populateTags(rebuilt);
+        }
+        return removed;
+    }
+}
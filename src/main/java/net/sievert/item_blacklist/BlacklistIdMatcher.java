@@ -0,0 +1,129 @@
+package net.sievert.item_blacklist;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import net.minecraft.util.Identifier;
+
+import java.util.Collection;
+
+/**
+ * Matches raw strings against blacklisted identifiers without parsing them.
+ * Ids are kept in an open-addressing table keyed by {@link String#hashCode()},
+ * so a string that names its namespace is looked up with its cached hash.
+ * A string without a namespace is hashed as if prefixed with
+ * {@code minecraft:}, matching how {@link Identifier#of(String)} reads it.
+ * Lookups allocate nothing and never throw; strings that are not valid
+ * identifiers simply do not match.
+ */
+public final class BlacklistIdMatcher {
+    /** Matcher with no ids. */
+    public static final BlacklistIdMatcher EMPTY = new BlacklistIdMatcher(new String[1], new int[1], 0, 0);
+
+    private static final String DEFAULT_PREFIX = Identifier.DEFAULT_NAMESPACE + ":";
+    private static final int DEFAULT_PREFIX_HASH = DEFAULT_PREFIX.hashCode();
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final int mask;
+    private final int maxLength;
+
+    private BlacklistIdMatcher(String[] keys, int[] hashes, int mask, int maxLength) {
+        this.keys = keys;
+        this.hashes = hashes;
+        this.mask = mask;
+        this.maxLength = maxLength;
+    }
+
+    /** Compiles a matcher for the given identifiers. */
+    public static BlacklistIdMatcher compile(Collection<Identifier> ids) {
+        if (ids.isEmpty()) return EMPTY;
+
+        // Power of two, at most half full.
+        int capacity = Integer.highestOneBit(Math.max(2, ids.size()) * 2 - 1) << 1;
+        String[] keys = new String[capacity];
+        int[] hashes = new int[capacity];
+        int mask = capacity - 1;
+        int maxLength = 0;
+
+        for (Identifier id : ids) {
+            String key = id.toString();
+            int hash = key.hashCode();
+            int slot = mix(hash) & mask;
+            while (keys[slot] != null) {
+                if (keys[slot].equals(key)) break;
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            hashes[slot] = hash;
+            maxLength = Math.max(maxLength, key.length());
+        }
+        return new BlacklistIdMatcher(keys, hashes, mask, maxLength);
+    }
+
+    /** True if the string, read as an identifier, is blacklisted. */
+    public boolean matches(String s) {
+        int colon = s.indexOf(':');
+        if (colon > 0) {
+            return s.length() <= maxLength && find(s.hashCode(), s, 0, false);
+        }
+
+        // No namespace, or an empty one: the path is read as minecraft's.
+        int start = colon + 1;
+        int length = DEFAULT_PREFIX.length() + s.length() - start;
+        if (length > maxLength) return false;
+
+        int hash = DEFAULT_PREFIX_HASH;
+        for (int i = start; i < s.length(); i++) {
+            hash = 31 * hash + s.charAt(i);
+        }
+        return find(hash, s, start, true);
+    }
+
+    /**
+     * Walks a JSON tree looking for string identifiers that are blacklisted.
+     * Strings are matched as they are, without parsing; stops at the first hit.
+     */
+    public boolean matchesAny(JsonElement json) {
+        if (json == null) return false;
+
+        if (json.isJsonPrimitive()) {
+            JsonPrimitive prim = json.getAsJsonPrimitive();
+            return prim.isString() && matches(prim.getAsString());
+        }
+        if (json.isJsonObject()) {
+            for (var e : json.getAsJsonObject().entrySet()) {
+                if (matchesAny(e.getValue())) return true;
+            }
+        } else if (json.isJsonArray()) {
+            for (JsonElement el : json.getAsJsonArray()) {
+                if (matchesAny(el)) return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Probes for a key equal to {@code s} from {@code start},
+     * optionally preceded by the default prefix.
+     */
+    private boolean find(int hash, String s, int start, boolean defaultNamespace) {
+        int prefix = defaultNamespace ? DEFAULT_PREFIX.length() : 0;
+        int slot = mix(hash) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (hashes[slot] == hash
+                    && key.length() == prefix + s.length() - start
+                    && (!defaultNamespace || key.startsWith(DEFAULT_PREFIX))
+                    && key.regionMatches(prefix, s, start, s.length() - start)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,159 @@
+package net.sievert.item_blacklist;
+
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Compiled membership index for the blacklist.
+ * Stores one bit per item raw id, so lookups are a single
+ * array read with no hashing or allocation.
+ */
+public final class BlacklistIndex {
+    /** Index that contains no items. */
+    public static final BlacklistIndex EMPTY = new BlacklistIndex(new long[0], 0, 0);
+
+    /** Bumped whenever item raw ids are remapped (e.g. by registry sync). */
+    private static volatile int rawIdEpoch = 0;
+
+    private final long[] words;
+    private final int size;
+    private final int epoch;
+
+    private BlacklistIndex(long[] words, int size, int epoch) {
+        this.words = words;
+        this.size = size;
+        this.epoch = epoch;
+    }
+
+    /**
+     * Compiles an index from validated identifiers.
+     * Identifiers that are not in the item registry are ignored.
+     */
+    public static BlacklistIndex compile(Collection<Identifier> ids) {
+        if (ids.isEmpty()) return EMPTY;
+
+        long[] words = new long[(Registries.ITEM.size() + 63) >>> 6];
+        int size = 0;
+        for (Identifier id : ids) {
+            if (!Registries.ITEM.containsId(id)) continue;
+            int raw = Registries.ITEM.getRawId(Registries.ITEM.get(id));
+            if (raw < 0) continue;
+            if ((raw >>> 6) >= words.length) continue;
+            if ((words[raw >>> 6] & (1L << raw)) == 0) {
+                words[raw >>> 6] |= 1L << raw;
+                size++;
+            }
+        }
+        return new BlacklistIndex(words, size, rawIdEpoch);
+    }
+
+    /** Returns an index containing the items of both indexes. */
+    public BlacklistIndex union(BlacklistIndex other) {
+        if (other.size == 0) return this;
+        if (this.size == 0) return other;
+
+        long[] merged = new long[Math.max(words.length, other.words.length)];
+        int size = 0;
+        for (int i = 0; i < merged.length; i++) {
+            long word = (i < words.length ? words[i] : 0L) | (i < other.words.length ? other.words[i] : 0L);
+            merged[i] = word;
+            size += Long.bitCount(word);
+        }
+        return new BlacklistIndex(merged, size, Math.max(epoch, other.epoch));
+    }
+
+    /**
+     * Returns the raw ids in this index that are not in the other one.
+     * If raw ids were remapped between the two, returns every raw id here.
+     */
+    public int[] rawIdsNotIn(BlacklistIndex other) {
+        boolean sameEpoch = epoch == other.epoch;
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            count += Long.bitCount(sameEpoch ? words[i] & ~other.word(i) : words[i]);
+        }
+
+        int[] result = new int[count];
+        int n = 0;
+        for (int i = 0; i < words.length; i++) {
+            long word = sameEpoch ? words[i] & ~other.word(i) : words[i];
+            while (word != 0) {
+                result[n++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    private long word(int i) {
+        return i < words.length ? words[i] : 0L;
+    }
+
+    /** Calls the consumer with every raw id in the index, in ascending order. */
+    public void forEachRawId(IntConsumer consumer) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                consumer.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /** Iterates every raw id in the index, in ascending order. */
+    public PrimitiveIterator.OfInt rawIdIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int wordIndex = 0;
+            private long word = words.length > 0 ? words[0] : 0L;
+
+            @Override
+            public boolean hasNext() {
+                while (word == 0) {
+                    if (++wordIndex >= words.length) return false;
+                    word = words[wordIndex];
+                }
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                int rawId = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                return rawId;
+            }
+        };
+    }
+
+    /** Checks whether the given item is blacklisted. */
+    public boolean contains(Item item) {
+        return containsRawId(((ItemRawIdHolder) item).item_blacklist$getRawId());
+    }
+
+    /** Checks whether the given item raw id is blacklisted. */
+    public boolean containsRawId(int rawId) {
+        int word = rawId >>> 6;
+        return word < words.length && (words[word] & (1L << rawId)) != 0;
+    }
+
+    /** Number of items in the index. */
+    public int size() {
+        return size;
+    }
+
+    /** Current raw id epoch; cached raw ids from an older epoch are stale. */
+    public static int rawIdEpoch() {
+        return rawIdEpoch;
+    }
+
+    /** Invalidates every cached item raw id. */
+    static void bumpRawIdEpoch() {
+        rawIdEpoch++;
+    }
+}
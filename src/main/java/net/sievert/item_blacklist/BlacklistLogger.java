@@ -7,13 +7,14 @@ import java.util.List;
 /**
  * Buffered logger for Item Blacklist.
  * Collects logs by group, then flushes them in a fixed order.
+ * Safe to call from reload worker threads.
  */
 public final class BlacklistLogger {
     private static final org.slf4j.Logger LOGGER = org.slf4j.LoggerFactory.getLogger(ItemBlacklist.MOD_ID);
 
     /** Log groups for ordered output. */
     public enum Group {
-        INIT, VALIDATION, LOOT, RECIPE, TRADE, TAG
+        INIT, VALIDATION, LOOT, RECIPE, TRADE, TAG, WORLDGEN, RELOAD
     }
 
     private static final List<LogEntry> LOG_BUFFER = new ArrayList<>();
@@ -34,17 +35,21 @@ public final class BlacklistLogger {
     }
 
     // --- Main log methods ---
-    public static void info(Group group, String msg)  { LOG_BUFFER.add(new LogEntry(group, "INFO", msg)); }
-    public static void warn(Group group, String msg)  { LOG_BUFFER.add(new LogEntry(group, "WARN", msg)); }
-    public static void error(Group group, String msg) { LOG_BUFFER.add(new LogEntry(group, "ERROR", msg)); }
-    public static void debug(Group group, String msg) { LOG_BUFFER.add(new LogEntry(group, "DEBUG", msg)); }
+    public static void info(Group group, String msg)  { add(new LogEntry(group, "INFO", msg)); }
+    public static void warn(Group group, String msg)  { add(new LogEntry(group, "WARN", msg)); }
+    public static void error(Group group, String msg) { add(new LogEntry(group, "ERROR", msg)); }
+    public static void debug(Group group, String msg) { add(new LogEntry(group, "DEBUG", msg)); }
+
+    private static synchronized void add(LogEntry entry) {
+        LOG_BUFFER.add(entry);
+    }
 
     /**
      * Flushes all buffered logs, printing them in strict group order,
      * then clears the buffer.
      */
-    public static void flush() {
-        Group[] order = { Group.INIT, Group.VALIDATION, Group.LOOT, Group.RECIPE, Group.TRADE, Group.TAG };
+    public static synchronized void flush() {
+        Group[] order = { Group.INIT, Group.VALIDATION, Group.LOOT, Group.RECIPE, Group.TRADE, Group.TAG, Group.WORLDGEN, Group.RELOAD };
         EnumSet<Group> seen = EnumSet.noneOf(Group.class);
 
         for (Group group : order) {
@@ -0,0 +1,182 @@
+package net.sievert.item_blacklist;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.item.Item;
+import net.minecraft.loot.LootPool;
+import net.minecraft.loot.LootTable;
+import net.minecraft.loot.entry.*;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.ReloadableRegistries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.sievert.item_blacklist.mixin.AlternativeEntryInvoker;
+import net.sievert.item_blacklist.mixin.CombinedEntryAccessor;
+import net.sievert.item_blacklist.mixin.ItemEntryAccessor;
+import net.sievert.item_blacklist.mixin.LootPoolAccessor;
+import net.sievert.item_blacklist.mixin.LootPoolEntryAccessor;
+import net.sievert.item_blacklist.mixin.LootTableAccessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.sievert.item_blacklist.BlacklistLogger.*;
+import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
+
+/**
+ * Loot table patching shared by the reload-time filter
+ * and live hot reload. Replaces blacklisted item entries
+ * with empty entries.
+ */
+public final class BlacklistLootTables {
+    /** Snapshot version the live loot tables were last patched with. */
+    private static volatile long patchedVersion = -1L;
+
+    private BlacklistLootTables() {}
+
+    /**
+     * Re-patches live loot tables after a data pack reload or server start
+     * when the blacklist changed since loot tables were built, e.g. because
+     * tag entries were re-expanded after loot tables loaded.
+     */
+    public static void init() {
+        ServerLifecycleEvents.SERVER_STARTED.register(BlacklistLootTables::patchIfStale);
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (success) {
+                patchIfStale(server);
+                flush();
+            }
+        });
+    }
+
+    private static void patchIfStale(MinecraftServer server) {
+        BlacklistConfig config = ItemBlacklist.CONFIG;
+        BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+        if (config == null || snapshot.isEmpty() || snapshot.version() == patchedVersion) return;
+
+        int removed = patchLive(server, config, snapshot);
+        if (removed > 0) {
+            info(LOOT, "Loot blacklist: removed " + removed + " more " +
+                    pluralize(removed, "entry", "entries") + " after tag entries were expanded");
+        }
+    }
+
+    /** Records the snapshot version the loot tables were just patched with. */
+    public static void markPatched(BlacklistSnapshot snapshot) {
+        patchedVersion = snapshot.version();
+    }
+
+    /**
+     * Re-patches the live loot tables. Tables that do not reference
+     * a newly blacklisted item are walked but not rebuilt.
+     *
+     * @return number of loot entries replaced
+     */
+    public static int patchLive(MinecraftServer server, BlacklistConfig config, BlacklistSnapshot snapshot) {
+        ReloadableRegistries.Lookup registries = server.getReloadableRegistries();
+        int removed = 0;
+        for (Identifier tableId : registries.getIds(RegistryKeys.LOOT_TABLE)) {
+            LootTable table = registries.getLootTable(RegistryKey.of(RegistryKeys.LOOT_TABLE, tableId));
+            if (table == LootTable.EMPTY) continue;
+            removed += patchTable(table, config, snapshot, tableId);
+        }
+        markPatched(snapshot);
+        return removed;
+    }
+
+    /**
+     * Patches a single loot table in place.
+     * Entries that were already replaced are left untouched,
+     * so re-running with a larger blacklist only patches new items.
+     *
+     * @return number of entries replaced
+     */
+    public static int patchTable(LootTable table, BlacklistConfig config, BlacklistSnapshot snapshot, Identifier tableId) {
+        List<LootPool> originalPools = ((LootTableAccessor) table).getPools();
+        List<LootPool> rebuiltPools = new ArrayList<>();
+
+        int tableRemoved = 0;
+
+        for (LootPool pool : originalPools) {
+            LootPool.Builder rebuilt = LootPool.builder()
+                    .rolls(pool.rolls)
+                    .bonusRolls(pool.bonusRolls);
+
+            pool.conditions.forEach(rebuilt::conditionally);
+            pool.functions.forEach(rebuilt::apply);
+
+            for (LootPoolEntry entry : ((LootPoolAccessor) pool).getEntries()) {
+                LootPoolEntry patched = patchEntry(entry, config, snapshot, tableId);
+                if (patched != null) {
+                    tableRemoved++;
+                    rebuilt.with(patched);
+                } else {
+                    rebuilt.with(entry);
+                }
+            }
+            rebuiltPools.add(rebuilt.build());
+        }
+
+        if (tableRemoved > 0) {
+            ((LootTableAccessor) table).setPools(rebuiltPools);
+        }
+        return tableRemoved;
+    }
+
+    /**
+     * Recursively patches a loot pool entry, replacing
+     * blacklisted item entries or rebuilding combined entries.
+     * Takes tableId for detailed log context.
+     */
+    private static LootPoolEntry patchEntry(LootPoolEntry entry, BlacklistConfig config, BlacklistSnapshot snapshot, Identifier tableId) {
+        if (entry instanceof ItemEntry itemEntry) {
+            RegistryEntry<Item> regEntry = ((ItemEntryAccessor) itemEntry).getItemEntry();
+            if (regEntry != null && snapshot.contains(regEntry.value())) {
+                Identifier id = getEntryId(itemEntry);
+                if (config.detailedLootTableLog) {
+                    info(LOOT, "Entry " + id + " removed from " + tableId);
+                }
+                return EmptyEntry.builder().build();
+            }
+            return null;
+        }
+
+        if (entry instanceof CombinedEntry) {
+            boolean patched = false;
+            List<LootPoolEntry> newChildren = new ArrayList<>();
+            for (LootPoolEntry child : ((CombinedEntryAccessor) entry).getChildren()) {
+                LootPoolEntry patchedChild = patchEntry(child, config, snapshot, tableId);
+                if (patchedChild != null) {
+                    patched = true;
+                    newChildren.add(patchedChild);
+                } else {
+                    newChildren.add(child);
+                }
+            }
+            if (patched && entry instanceof AlternativeEntry) {
+                return AlternativeEntryInvoker.invokeInit(
+                        newChildren,
+                        ((LootPoolEntryAccessor) entry).getConditions()
+                );
+            }
+            return patched ? entry : null;
+        }
+
+        return null;
+    }
+
+    /**
+     * Resolves the {@link Identifier} of an item loot entry.
+     */
+    private static Identifier getEntryId(LootPoolEntry entry) {
+        if (entry instanceof ItemEntry itemEntry) {
+            RegistryEntry<Item> regEntry = ((ItemEntryAccessor) itemEntry).getItemEntry();
+            if (regEntry != null) {
+                return Registries.ITEM.getId(regEntry.value());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+package net.sievert.item_blacklist;
+
+import com.mojang.serialization.Codec;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.player.UseEntityCallback;
+import net.minecraft.entity.passive.MerchantEntity;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.Identifier;
+import net.minecraft.village.TradeOfferList;
+import net.sievert.item_blacklist.mixin.MerchantEntityAccessor;
+
+import static net.sievert.item_blacklist.BlacklistLogger.*;
+import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
+
+/**
+ * Removes blacklisted offers from villagers and wandering traders that
+ * already have saved offers. Merchants are scrubbed lazily: when a player
+ * first interacts with one, or when one that was scrubbed before loads
+ * after the blacklist changed. Each merchant is stamped with the blacklist
+ * fingerprint, so it is processed once per blacklist change.
+ */
+public final class BlacklistMerchants {
+    /** Fingerprint of the blacklist a merchant's offers were last scrubbed against. */
+    public static final AttachmentType<Long> OFFERS_SCRUBBED = AttachmentRegistry.createPersistent(
+            Identifier.of(ItemBlacklist.MOD_ID, "offers_scrubbed"), Codec.LONG);
+
+    private static long offersRemoved = 0L;
+
+    private BlacklistMerchants() {}
+
+    public static void init() {
+        UseEntityCallback.EVENT.register((player, world, hand, entity, hitResult) -> {
+            if (!world.isClient && entity instanceof MerchantEntity merchant) {
+                scrubIfStale(merchant);
+            }
+            return ActionResult.PASS;
+        });
+
+        // Merchants never scrubbed wait for interaction, so old worlds are not scanned at startup.
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof MerchantEntity merchant && merchant.hasAttached(OFFERS_SCRUBBED)) {
+                scrubIfStale(merchant);
+            }
+        });
+    }
+
+    /** Scrubs a merchant's saved offers unless they match the current blacklist. */
+    public static void scrubIfStale(MerchantEntity merchant) {
+        if (ItemBlacklist.CONFIG == null) return;
+
+        long fingerprint = BlacklistWorldScrub.fingerprint();
+        Long stamp = merchant.getAttached(OFFERS_SCRUBBED);
+        if (stamp != null && stamp == fingerprint) return;
+
+        TradeOfferList offers = ((MerchantEntityAccessor) merchant).getStoredOffers();
+        if (offers != null) {
+            int before = offers.size();
+            offers.removeIf(BlacklistVillagerTrades::isBlacklisted);
+            int removed = before - offers.size();
+            if (removed > 0) {
+                offersRemoved += removed;
+                if (ItemBlacklist.CONFIG.detailedTradeLog) {
+                    info(TRADE, "Removed " + removed + " saved " + pluralize(removed, "offer", "offers") +
+                            " from " + Registries.ENTITY_TYPE.getId(merchant.getType()) + " " + merchant.getUuidAsString());
+                    flush();
+                }
+            }
+        }
+
+        merchant.setAttached(OFFERS_SCRUBBED, fingerprint);
+    }
+
+    public static long offersRemoved() { return offersRemoved; }
+}
@@ -0,0 +1,30 @@
+package net.sievert.item_blacklist;
+
+import net.fabricmc.fabric.api.client.model.loading.v1.ModelLoadingPlugin;
+import net.minecraft.client.util.ModelIdentifier;
+import net.minecraft.util.Identifier;
+
+/**
+ * Client side, opt-in: loads a shared placeholder in place of the
+ * inventory model of every blacklisted item, so their own models and
+ * overrides are never resolved or baked. Uses the blacklist as it was
+ * when resources were loaded; later changes apply on the next reload.
+ */
+public final class BlacklistModels {
+    /** Model shown for blacklisted items. */
+    private static final Identifier PLACEHOLDER = Identifier.ofVanilla("item/barrier");
+
+    private BlacklistModels() {}
+
+    public static void init() {
+        BlacklistConfig config = ItemBlacklist.CONFIG;
+        if (config == null || !config.placeholderBlacklistedModels) return;
+
+        ModelLoadingPlugin.register(pluginContext -> pluginContext.modifyModelOnLoad().register((model, context) -> {
+            ModelIdentifier id = context.topLevelId();
+            if (id == null || !ModelIdentifier.INVENTORY_VARIANT.equals(id.variant())) return model;
+            if (!BlacklistSnapshot.current().contains(id.id())) return model;
+            return context.getOrLoadModel(PLACEHOLDER);
+        }));
+    }
+}
@@ -0,0 +1,109 @@
+package net.sievert.item_blacklist;
+
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.BundleContentsComponent;
+import net.minecraft.component.type.ContainerComponent;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.collection.DefaultedList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds and removes blacklisted stacks nested inside container stacks,
+ * such as shulker boxes ({@code minecraft:container}) and bundles
+ * ({@code minecraft:bundle_contents}). Verdicts are memoized on the
+ * immutable component instances, so unchanged containers are not
+ * rescanned until the blacklist changes.
+ */
+public final class BlacklistNested {
+    /** Largest number of slots a container component can hold. */
+    private static final int MAX_CONTAINER_SLOTS = 256;
+
+    /** Memoized result for one component, valid for the given index, predicates and depth. */
+    public record Verdict(BlacklistIndex index, BlacklistPredicates predicates, int depth, boolean blacklisted) {}
+
+    private BlacklistNested() {}
+
+    /** Checks a stack itself, ignoring its contents. */
+    public static boolean isBlacklisted(ItemStack stack, BlacklistIndex index, BlacklistPredicates predicates) {
+        return index.contains(stack.getItem()) || predicates.test(stack);
+    }
+
+    /**
+     * Checks whether a stack holds blacklisted stacks in its contents,
+     * looking at most {@code depth} levels deep.
+     */
+    public static boolean containsBlacklisted(ItemStack stack, BlacklistIndex index, BlacklistPredicates predicates, int depth) {
+        if (depth <= 0) return false;
+
+        ContainerComponent container = stack.get(DataComponentTypes.CONTAINER);
+        if (container != null && check(container, container.iterateNonEmpty(), index, predicates, depth)) return true;
+
+        BundleContentsComponent bundle = stack.get(DataComponentTypes.BUNDLE_CONTENTS);
+        return bundle != null && check(bundle, bundle.iterate(), index, predicates, depth);
+    }
+
+    private static boolean check(Object component, Iterable<ItemStack> contents,
+                                 BlacklistIndex index, BlacklistPredicates predicates, int depth) {
+        NestedVerdictHolder holder = (NestedVerdictHolder) component;
+        Verdict cached = holder.item_blacklist$getNestedVerdict();
+        if (cached != null && cached.index() == index && cached.predicates() == predicates && cached.depth() == depth) {
+            return cached.blacklisted();
+        }
+
+        boolean found = false;
+        for (ItemStack inner : contents) {
+            if (isBlacklisted(inner, index, predicates) || containsBlacklisted(inner, index, predicates, depth - 1)) {
+                found = true;
+                break;
+            }
+        }
+        holder.item_blacklist$setNestedVerdict(new Verdict(index, predicates, depth, found));
+        return found;
+    }
+
+    /**
+     * Removes blacklisted stacks from a stack's contents, in place.
+     * Components are only rebuilt when they actually hold something blacklisted.
+     *
+     * @return number of nested stacks removed
+     */
+    public static int purge(ItemStack stack, BlacklistIndex index, BlacklistPredicates predicates, int depth) {
+        if (depth <= 0) return 0;
+        int removed = 0;
+
+        ContainerComponent container = stack.get(DataComponentTypes.CONTAINER);
+        if (container != null && check(container, container.iterateNonEmpty(), index, predicates, depth)) {
+            DefaultedList<ItemStack> stacks = DefaultedList.ofSize(MAX_CONTAINER_SLOTS, ItemStack.EMPTY);
+            container.copyTo(stacks);
+            for (int i = 0; i < stacks.size(); i++) {
+                ItemStack inner = stacks.get(i);
+                if (inner.isEmpty()) continue;
+                if (isBlacklisted(inner, index, predicates)) {
+                    stacks.set(i, ItemStack.EMPTY);
+                    removed++;
+                } else {
+                    removed += purge(inner, index, predicates, depth - 1);
+                }
+            }
+            stack.set(DataComponentTypes.CONTAINER, ContainerComponent.fromStacks(stacks));
+        }
+
+        BundleContentsComponent bundle = stack.get(DataComponentTypes.BUNDLE_CONTENTS);
+        if (bundle != null && check(bundle, bundle.iterate(), index, predicates, depth)) {
+            List<ItemStack> kept = new ArrayList<>();
+            for (ItemStack inner : bundle.iterateCopy()) {
+                if (isBlacklisted(inner, index, predicates)) {
+                    removed++;
+                } else {
+                    removed += purge(inner, index, predicates, depth - 1);
+                    kept.add(inner);
+                }
+            }
+            stack.set(DataComponentTypes.BUNDLE_CONTENTS, new BundleContentsComponent(kept));
+        }
+
+        return removed;
+    }
+}
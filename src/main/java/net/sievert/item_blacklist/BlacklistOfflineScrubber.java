@@ -0,0 +1,438 @@
+package net.sievert.item_blacklist;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.minecraft.nbt.*;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.WorldSavePath;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static net.sievert.item_blacklist.BlacklistLogger.*;
+import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
+
+/**
+ * Offline world scrubber. Runs once while the server is starting, before
+ * any world is loaded, when requested with {@code /itemblacklist scrub}
+ * (which leaves a flag file in the config directory) or with
+ * {@code -Ditem_blacklist.scrub=true}.
+ *
+ * <p>Reads every region file ({@code region/} and {@code entities/} of each
+ * dimension) through a memory map, decompresses and scrubs chunks in parallel
+ * on a bounded work queue, and rewrites changed chunks in place. Player data
+ * files are scrubbed the same way. Blacklisted item stacks are removed from
+ * inventories, equipment, item frames and item entities, and trade offers
+ * involving them are dropped whole; component entries
+ * are not applied offline. A per-region summary is written to the world
+ * folder.
+ */
+public final class BlacklistOfflineScrubber {
+    private static final String FLAG_FILE = "item_blacklist.scrub";
+    private static final String REPORT_FILE = "item_blacklist_scrub_report.txt";
+    private static final String PROPERTY = "item_blacklist.scrub";
+
+    private static final int SECTOR = 4096;
+    private static final int CHUNKS_PER_REGION = 1024;
+
+    private static final int COMPRESSION_GZIP = 1;
+    private static final int COMPRESSION_ZLIB = 2;
+    private static final int COMPRESSION_NONE = 3;
+    private static final int COMPRESSION_LZ4 = 4;
+    private static final int COMPRESSION_EXTERNAL = 128;
+
+    /** Item lists with a fixed length, where removed stacks must become empty entries. */
+    private static final Set<String> FIXED_ITEM_LISTS = Set.of("ArmorItems", "HandItems");
+
+    /**
+     * Keys that hold a single optional stack, which can be removed outright.
+     * Stack-shaped compounds under any other key may be required fields
+     * (e.g. trade offer {@code buy}/{@code sell}) and are left in place.
+     */
+    private static final Set<String> SINGLE_ITEM_KEYS = Set.of(
+            "Item", "item", "RecordItem", "Book", "SaddleItem", "body_armor_item", "DecorItem", "FireworksItem");
+
+    /** Stack fields of a saved trade offer; the whole offer goes if any is blacklisted. */
+    private static final List<String> OFFER_ITEM_KEYS = List.of("buy", "buyB", "sell");
+
+    private BlacklistOfflineScrubber() {}
+
+    public static void init() {
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> {
+            if (isRequested()) {
+                run(server);
+                clearRequest();
+                flush();
+            }
+        });
+    }
+
+    /** Path of the flag file that requests a scrub on the next start. */
+    public static Path flagPath() {
+        return FabricLoader.getInstance().getConfigDir().resolve(FLAG_FILE);
+    }
+
+    /** Requests a scrub on the next server start. */
+    public static void request() throws IOException {
+        Files.writeString(flagPath(), "Delete this file to cancel the offline scrub.\n", StandardCharsets.UTF_8);
+    }
+
+    private static boolean isRequested() {
+        return Boolean.getBoolean(PROPERTY) || Files.exists(flagPath());
+    }
+
+    private static void clearRequest() {
+        try {
+            Files.deleteIfExists(flagPath());
+        } catch (IOException e) {
+            warn(INIT, "Failed to delete offline scrub flag file " + flagPath() + ": " + e);
+        }
+    }
+
+    /** Totals for one region or player data file. */
+    private static final class Report {
+        int chunksChanged;
+        int chunksSkipped;
+        final Map<String, Integer> removed = new TreeMap<>();
+
+        void merge(Map<String, Integer> counts) {
+            counts.forEach((id, n) -> removed.merge(id, n, Integer::sum));
+        }
+
+        int total() {
+            return removed.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+    private static void run(MinecraftServer server) {
+        BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+        if (snapshot.isEmpty()) {
+            info(INIT, "Offline scrub requested, but the blacklist is empty; skipping.");
+            return;
+        }
+
+        Path root = server.getSavePath(WorldSavePath.ROOT).normalize();
+        long start = System.nanoTime();
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        Map<String, Report> reports = new TreeMap<>();
+        try {
+            for (Path region : findRegionFiles(root)) {
+                try {
+                    Report report = scrubRegion(region, snapshot, executor);
+                    if (report.chunksChanged > 0 || report.chunksSkipped > 0) {
+                        reports.put(root.relativize(region).toString(), report);
+                    }
+                } catch (IOException e) {
+                    warn(INIT, "Offline scrub failed for " + region + ": " + e);
+                }
+            }
+
+            Path playerData = server.getSavePath(WorldSavePath.PLAYERDATA);
+            if (Files.isDirectory(playerData)) {
+                try (Stream<Path> files = Files.list(playerData)) {
+                    for (Path file : files.filter(p -> p.toString().endsWith(".dat")).toList()) {
+                        try {
+                            Report report = scrubPlayerData(file, snapshot);
+                            if (report.chunksChanged > 0) reports.put(root.relativize(file).toString(), report);
+                        } catch (IOException e) {
+                            warn(INIT, "Offline scrub failed for " + file + ": " + e);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            warn(INIT, "Offline scrub could not list world files: " + e);
+        } finally {
+            executor.shutdown();
+        }
+
+        int total = reports.values().stream().mapToInt(Report::total).sum();
+        writeReport(root.resolve(REPORT_FILE), reports);
+        info(INIT, "Offline scrub removed " + total + " " + pluralize(total, "stack", "stacks") + " from " +
+                reports.size() + " " + pluralize(reports.size(), "file", "files") + " in " +
+                (System.nanoTime() - start) / 1_000_000L + " ms; see " + REPORT_FILE);
+    }
+
+    /** Finds .mca files in every dimension's region and entities folders. */
+    private static List<Path> findRegionFiles(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root, 6)) {
+            return paths.filter(p -> p.toString().endsWith(".mca"))
+                    .filter(p -> {
+                        String parent = p.getParent().getFileName().toString();
+                        return parent.equals("region") || parent.equals("entities");
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /** A rewritten chunk waiting to be written back. */
+    private record ChunkResult(int index, byte[] data, Map<String, Integer> removed) {}
+
+    /**
+     * Scrubs one region file. Chunks are decoded and scrubbed in parallel
+     * from the memory map; changed chunks are then written back on this thread.
+     */
+    private static Report scrubRegion(Path region, BlacklistSnapshot snapshot, ExecutorService executor) throws IOException {
+        Report report = new Report();
+        List<Future<ChunkResult>> futures = new ArrayList<>();
+        int[] locations = new int[CHUNKS_PER_REGION];
+
+        try (FileChannel channel = FileChannel.open(region, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < 2L * SECTOR) return report;
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                int location = map.getInt(i * 4);
+                locations[i] = location;
+                if (location == 0) continue;
+
+                int offset = (location >>> 8) * SECTOR;
+                if (offset + 5 > map.limit()) continue;
+                int length = map.getInt(offset);
+                int type = map.get(offset + 4) & 0xFF;
+                if ((type & COMPRESSION_EXTERNAL) != 0) {
+                    // Oversized chunks live in .mcc files; left for the online scrub.
+                    report.chunksSkipped++;
+                    continue;
+                }
+                if (length <= 1 || offset + 4 + length > map.limit()) continue;
+
+                ByteBuffer slice = map.slice(offset + 5, length - 1);
+                int index = i;
+                futures.add(executor.submit(() -> scrubChunk(index, slice, type, snapshot)));
+            }
+
+            for (Future<ChunkResult> future : futures) {
+                try {
+                    ChunkResult result = future.get();
+                    if (result == null) continue;
+                    // Each chunk owns its sectors and growth is appended past the map, so pending reads are unaffected.
+                    if (writeChunk(channel, locations, result)) {
+                        report.chunksChanged++;
+                        report.merge(result.removed());
+                    } else {
+                        report.chunksSkipped++;
+                    }
+                } catch (ExecutionException e) {
+                    report.chunksSkipped++;
+                    debug(INIT, "Offline scrub skipped a chunk in " + region + ": " + e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted", e);
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Decodes, scrubs and re-encodes a single chunk.
+     *
+     * @return the rewritten chunk, or null if nothing was removed
+     */
+    private static ChunkResult scrubChunk(int index, ByteBuffer data, int type, BlacklistSnapshot snapshot) throws IOException {
+        NbtCompound nbt;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(decompress(new ByteBufferInputStream(data), type)))) {
+            nbt = NbtIo.readCompound(in, NbtSizeTracker.ofUnlimitedBytes());
+        }
+
+        Map<String, Integer> removed = new HashMap<>();
+        scrubCompound(nbt, snapshot, removed);
+        if (removed.isEmpty()) return null;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(bytes)))) {
+            NbtIo.write(nbt, out);
+        }
+        return new ChunkResult(index, bytes.toByteArray(), removed);
+    }
+
+    private static InputStream decompress(InputStream in, int type) throws IOException {
+        return switch (type) {
+            case COMPRESSION_GZIP -> new GZIPInputStream(in);
+            case COMPRESSION_ZLIB -> new InflaterInputStream(in);
+            case COMPRESSION_NONE -> in;
+            case COMPRESSION_LZ4 -> new LZ4BlockInputStream(in);
+            default -> throw new IOException("Unknown chunk compression type " + type);
+        };
+    }
+
+    /**
+     * Writes a rewritten chunk (always zlib) back into the region file,
+     * in place if it still fits its sectors, otherwise appended at the end.
+     *
+     * @return false if the chunk is too large to store inline
+     */
+    private static boolean writeChunk(FileChannel channel, int[] locations, ChunkResult result) throws IOException {
+        int payloadLength = result.data().length + 5;
+        int sectors = (payloadLength + SECTOR - 1) / SECTOR;
+        if (sectors >= 256) return false;
+
+        int location = locations[result.index()];
+        int sectorOffset = location >>> 8;
+        if (sectors > (location & 0xFF)) {
+            sectorOffset = (int) ((channel.size() + SECTOR - 1) / SECTOR);
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(sectors * SECTOR);
+        payload.putInt(result.data().length + 1);
+        payload.put((byte) COMPRESSION_ZLIB);
+        payload.put(result.data());
+        payload.rewind();
+        channel.write(payload, (long) sectorOffset * SECTOR);
+
+        int newLocation = (sectorOffset << 8) | sectors;
+        locations[result.index()] = newLocation;
+        ByteBuffer header = ByteBuffer.allocate(4);
+        header.putInt(newLocation);
+        header.flip();
+        channel.write(header, result.index() * 4L);
+        return true;
+    }
+
+    private static Report scrubPlayerData(Path file, BlacklistSnapshot snapshot) throws IOException {
+        Report report = new Report();
+        NbtCompound nbt = NbtIo.readCompressed(file, NbtSizeTracker.ofUnlimitedBytes());
+        Map<String, Integer> removed = new HashMap<>();
+        scrubCompound(nbt, snapshot, removed);
+        if (!removed.isEmpty()) {
+            NbtIo.writeCompressed(nbt, file);
+            report.chunksChanged = 1;
+            report.merge(removed);
+        }
+        return report;
+    }
+
+    /**
+     * Removes blacklisted stacks held under known single-item keys (item
+     * frames, jukeboxes, lecterns) and recurses into everything else.
+     */
+    private static void scrubCompound(NbtCompound compound, BlacklistSnapshot snapshot, Map<String, Integer> removed) {
+        for (String key : List.copyOf(compound.getKeys())) {
+            NbtElement value = compound.get(key);
+            if (value instanceof NbtCompound child) {
+                String id = SINGLE_ITEM_KEYS.contains(key) ? blacklistedStackId(child, snapshot) : null;
+                if (id != null) {
+                    compound.remove(key);
+                    removed.merge(id, 1, Integer::sum);
+                } else {
+                    scrubCompound(child, snapshot, removed);
+                }
+            } else if (value instanceof NbtList list) {
+                scrubList(key, list, snapshot, removed);
+            }
+        }
+    }
+
+    /**
+     * Removes blacklisted stacks from a list: slotted inventory entries,
+     * item entities and trade offers are dropped, fixed-length equipment
+     * lists get an empty entry in their place.
+     */
+    private static void scrubList(String key, NbtList list, BlacklistSnapshot snapshot, Map<String, Integer> removed) {
+        if (list.getHeldType() != NbtElement.COMPOUND_TYPE) return;
+
+        for (int i = list.size() - 1; i >= 0; i--) {
+            NbtCompound element = list.getCompound(i);
+
+            String id = blacklistedStackId(element, snapshot);
+            if (id == null && (element.contains("slot") || element.contains("Slot") || isItemEntity(element))) {
+                // Container component entries ({slot, item}) and item entities ({id: "minecraft:item", Item}).
+                NbtCompound item = element.contains("item", NbtElement.COMPOUND_TYPE)
+                        ? element.getCompound("item") : element.getCompound("Item");
+                id = blacklistedStackId(item, snapshot);
+            }
+            if (id == null && isTradeOffer(element)) {
+                for (String offerKey : OFFER_ITEM_KEYS) {
+                    id = blacklistedStackId(element.getCompound(offerKey), snapshot);
+                    if (id != null) break;
+                }
+            }
+
+            if (id == null) {
+                scrubCompound(element, snapshot, removed);
+                continue;
+            }
+
+            removed.merge(id, 1, Integer::sum);
+            if (FIXED_ITEM_LISTS.contains(key)) {
+                list.set(i, new NbtCompound());
+            } else {
+                list.remove(i);
+            }
+        }
+    }
+
+    private static boolean isTradeOffer(NbtCompound compound) {
+        return compound.contains("buy", NbtElement.COMPOUND_TYPE) && compound.contains("sell", NbtElement.COMPOUND_TYPE);
+    }
+
+    private static boolean isItemEntity(NbtCompound compound) {
+        return "minecraft:item".equals(compound.getString("id")) && compound.contains("Item", NbtElement.COMPOUND_TYPE);
+    }
+
+    /** Returns the id if the compound is a saved item stack of a blacklisted item, else null. */
+    private static String blacklistedStackId(NbtCompound compound, BlacklistSnapshot snapshot) {
+        if (!compound.contains("id", NbtElement.STRING_TYPE)) return null;
+        if (!compound.contains("count", NbtElement.NUMBER_TYPE) && !compound.contains("Count", NbtElement.NUMBER_TYPE)) return null;
+
+        String raw = compound.getString("id");
+        Identifier id = Identifier.tryParse(raw);
+        return id != null && snapshot.contains(id) ? id.toString() : null;
+    }
+
+    private static void writeReport(Path path, Map<String, Report> reports) {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.println("Item Blacklist offline scrub");
+            for (Map.Entry<String, Report> entry : reports.entrySet()) {
+                Report report = entry.getValue();
+                writer.println();
+                writer.println(entry.getKey() + ": " + report.total() + " removed, " +
+                        report.chunksChanged + " rewritten, " + report.chunksSkipped + " skipped");
+                report.removed.forEach((id, count) -> writer.println("  " + id + " x" + count));
+            }
+        } catch (IOException e) {
+            warn(INIT, "Failed to write offline scrub report: " + e);
+        }
+    }
+
+    /** Reads a byte buffer slice as a stream, without copying it. */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+}
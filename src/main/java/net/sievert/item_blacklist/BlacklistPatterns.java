@@ -0,0 +1,186 @@
+package net.sievert.item_blacklist;
+
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static net.sievert.item_blacklist.BlacklistLogger.*;
+import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
+
+/**
+ * Pattern entries of the blacklist.
+ * Supports namespace wildcards ({@code somemod:*}), globs
+ * ({@code *:raw_*_block}), regular expressions ({@code /regex/})
+ * and item tag references ({@code #c:ores}).
+ * Patterns are expanded once into plain identifiers, so hot paths
+ * never see them.
+ */
+public final class BlacklistPatterns {
+    /** Patterns with no entries. */
+    public static final BlacklistPatterns EMPTY = new BlacklistPatterns(Set.of(), List.of(), List.of(), List.of());
+
+    private final Set<String> namespaces;
+    private final List<String> regexSources;
+    private final List<Pattern> regexes;
+    private final List<Identifier> tags;
+
+    private BlacklistPatterns(Set<String> namespaces, List<String> regexSources, List<Pattern> regexes, List<Identifier> tags) {
+        this.namespaces = namespaces;
+        this.regexSources = regexSources;
+        this.regexes = regexes;
+        this.tags = tags;
+    }
+
+    /**
+     * Returns true if the raw entry is a pattern rather than an exact id.
+     * Pattern entries are skipped by exact-id validation.
+     */
+    public static boolean isPattern(String raw) {
+        if (raw == null || raw.isEmpty()) return false;
+        if (raw.charAt(0) == '#' || raw.charAt(0) == '/') return true;
+        // A '*' inside a component predicate is part of the value, not a glob.
+        int star = raw.indexOf('*');
+        int brace = raw.indexOf('{');
+        return star >= 0 && (brace < 0 || star < brace);
+    }
+
+    /**
+     * Parses every pattern entry of the raw blacklist,
+     * warning about malformed ones.
+     */
+    public static BlacklistPatterns parse(Collection<String> raw) {
+        Set<String> namespaces = new HashSet<>();
+        List<String> regexSources = new ArrayList<>();
+        List<Pattern> regexes = new ArrayList<>();
+        List<Identifier> tags = new ArrayList<>();
+
+        for (String entry : raw) {
+            if (!isPattern(entry)) continue;
+
+            if (entry.charAt(0) == '#') {
+                Identifier tag = Identifier.tryParse(entry.substring(1));
+                if (tag == null) {
+                    warn(VALIDATION, "Invalid blacklist tag entry: \"" + entry + "\"");
+                } else {
+                    tags.add(tag);
+                }
+            } else if (entry.charAt(0) == '/') {
+                if (entry.length() < 2 || entry.charAt(entry.length() - 1) != '/') {
+                    warn(VALIDATION, "Invalid blacklist regex entry (must be /regex/): \"" + entry + "\"");
+                    continue;
+                }
+                try {
+                    regexes.add(Pattern.compile(entry.substring(1, entry.length() - 1)));
+                    regexSources.add(entry);
+                } catch (PatternSyntaxException e) {
+                    warn(VALIDATION, "Invalid blacklist regex entry: \"" + entry + "\" (" + e.getDescription() + ")");
+                }
+            } else if (entry.endsWith(":*") && entry.indexOf('*') == entry.length() - 1) {
+                namespaces.add(entry.substring(0, entry.length() - 2));
+            } else if (entry.indexOf(':') < 0) {
+                warn(VALIDATION, "Invalid blacklist glob entry (must be namespace:path): \"" + entry + "\"");
+            } else {
+                regexes.add(globToRegex(entry));
+                regexSources.add(entry);
+            }
+        }
+
+        if (namespaces.isEmpty() && regexes.isEmpty() && tags.isEmpty()) return EMPTY;
+        return new BlacklistPatterns(Set.copyOf(namespaces), List.copyOf(regexSources), List.copyOf(regexes), List.copyOf(tags));
+    }
+
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int start = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            if (glob.charAt(i) == '*') {
+                if (i > start) regex.append(Pattern.quote(glob.substring(start, i)));
+                regex.append(".*");
+                start = i + 1;
+            }
+        }
+        if (start < glob.length()) regex.append(Pattern.quote(glob.substring(start)));
+        return Pattern.compile(regex.toString());
+    }
+
+    /** True if there are no pattern entries. */
+    public boolean isEmpty() {
+        return namespaces.isEmpty() && regexes.isEmpty() && tags.isEmpty();
+    }
+
+    /** True if any entry references an item tag. */
+    public boolean hasTags() {
+        return !tags.isEmpty();
+    }
+
+    /** Number of pattern entries, excluding tag references. */
+    public int registryPatternCount() {
+        return namespaces.size() + regexes.size();
+    }
+
+    /**
+     * Expands namespace, glob and regex patterns against the item registry.
+     * Walks the registry once, regardless of how many patterns there are.
+     * Warns about patterns that match nothing.
+     */
+    public Set<Identifier> expandRegistry() {
+        if (namespaces.isEmpty() && regexes.isEmpty()) return Set.of();
+
+        Set<Identifier> matched = new HashSet<>();
+        Set<String> usedNamespaces = new HashSet<>();
+        boolean[] usedRegexes = new boolean[regexes.size()];
+
+        for (Identifier id : Registries.ITEM.getIds()) {
+            boolean hit = namespaces.contains(id.getNamespace());
+            if (hit) usedNamespaces.add(id.getNamespace());
+
+            if (!regexes.isEmpty()) {
+                String full = id.toString();
+                for (int i = 0; i < regexes.size(); i++) {
+                    // Once the id is matched, a pattern is only tested until it is known to be used.
+                    if (hit && usedRegexes[i]) continue;
+                    if (regexes.get(i).matcher(full).matches()) {
+                        usedRegexes[i] = true;
+                        hit = true;
+                    }
+                }
+            }
+            if (hit) matched.add(id);
+        }
+
+        for (String namespace : namespaces) {
+            if (!usedNamespaces.contains(namespace)) {
+                warn(VALIDATION, "Blacklist pattern \"" + namespace + ":*\" matched no items");
+            }
+        }
+        for (int i = 0; i < usedRegexes.length; i++) {
+            if (!usedRegexes[i]) {
+                warn(VALIDATION, "Blacklist pattern \"" + regexSources.get(i) + "\" matched no items");
+            }
+        }
+
+        return matched;
+    }
+
+    /**
+     * Expands tag references against unfiltered item tag contents.
+     * Tags that are not present are skipped with a warning.
+     */
+    public Set<Identifier> expandTags(Map<Identifier, Set<Identifier>> itemTagMembers) {
+        if (tags.isEmpty() || itemTagMembers.isEmpty()) return Set.of();
+
+        Set<Identifier> matched = new HashSet<>();
+        for (Identifier tag : tags) {
+            Set<Identifier> members = itemTagMembers.get(tag);
+            if (members == null) {
+                warn(VALIDATION, "Blacklist tag entry \"#" + tag + "\" does not exist");
+                continue;
+            }
+            matched.addAll(members);
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,213 @@
+package net.sievert.item_blacklist;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DynamicOps;
+import net.minecraft.component.ComponentMap;
+import net.minecraft.component.ComponentType;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.StringNbtReader;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.sievert.item_blacklist.BlacklistLogger.*;
+import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
+
+/**
+ * Component-aware blacklist entries, such as
+ * {@code minecraft:potion{potion_contents:"minecraft:strong_harming"}}.
+ * Each entry bans stacks of an item whose data components contain
+ * the given values. Items without predicates are rejected by a single
+ * bitset read; results for the rest are cached per component map.
+ */
+public final class BlacklistPredicates {
+    /** Predicates with no entries. */
+    public static final BlacklistPredicates EMPTY = new BlacklistPredicates(0L, BlacklistIndex.EMPTY, Map.of(), NbtOps.INSTANCE, 0, 0L);
+
+    private static final AtomicLong NEXT_GENERATION = new AtomicLong();
+    private static volatile BlacklistPredicates current = EMPTY;
+
+    private final long generation;
+    private final BlacklistIndex index;
+    private final Map<Item, List<Entry>> entries;
+    private final DynamicOps<NbtElement> ops;
+    private final int size;
+    private final long fingerprint;
+
+    /** One blacklist entry: every condition must match. */
+    private record Entry(String source, List<Condition> conditions) {}
+
+    /** One component value the stack must contain. */
+    private record Condition(ComponentType<?> type, NbtElement expected) {}
+
+    private BlacklistPredicates(long generation, BlacklistIndex index, Map<Item, List<Entry>> entries, DynamicOps<NbtElement> ops, int size, long fingerprint) {
+        this.generation = generation;
+        this.index = index;
+        this.entries = entries;
+        this.ops = ops;
+        this.size = size;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Returns true if the raw entry carries a component predicate.
+     * Predicate entries are skipped by exact-id validation.
+     */
+    public static boolean isPredicate(String raw) {
+        if (raw == null || BlacklistPatterns.isPattern(raw)) return false;
+        int brace = raw.indexOf('{');
+        return brace > 0 && raw.endsWith("}");
+    }
+
+    /** Returns the currently published predicates. */
+    public static BlacklistPredicates current() {
+        return current;
+    }
+
+    /** Publishes compiled predicates, replacing the current ones. */
+    public static void publish(BlacklistPredicates predicates) {
+        current = predicates;
+    }
+
+    /**
+     * Compiles every predicate entry of the raw blacklist.
+     * With a registry lookup, expected values are normalized through
+     * each component's codec so shorthand forms match; without one,
+     * values are compared as written.
+     */
+    public static BlacklistPredicates compile(Collection<String> raw, @Nullable RegistryWrapper.WrapperLookup lookup) {
+        DynamicOps<NbtElement> ops = lookup != null ? lookup.getOps(NbtOps.INSTANCE) : NbtOps.INSTANCE;
+        Map<Item, List<Entry>> entries = new IdentityHashMap<>();
+        List<Identifier> ids = new ArrayList<>();
+        int size = 0;
+        long fingerprint = 0L;
+
+        for (String entry : raw) {
+            if (!isPredicate(entry)) continue;
+
+            int brace = entry.indexOf('{');
+            Identifier id = Identifier.tryParse(entry.substring(0, brace));
+            if (id == null || !Registries.ITEM.containsId(id)) {
+                warn(VALIDATION, "Invalid component blacklist entry (unknown item): \"" + entry + "\"");
+                continue;
+            }
+
+            NbtCompound nbt;
+            try {
+                nbt = StringNbtReader.parse(entry.substring(brace));
+            } catch (CommandSyntaxException e) {
+                warn(VALIDATION, "Invalid component blacklist entry: \"" + entry + "\" (" + e.getMessage() + ")");
+                continue;
+            }
+
+            List<Condition> conditions = new ArrayList<>();
+            boolean valid = true;
+            for (String key : nbt.getKeys()) {
+                Identifier typeId = Identifier.tryParse(key);
+                ComponentType<?> type = typeId != null ? Registries.DATA_COMPONENT_TYPE.get(typeId) : null;
+                if (type == null || type.getCodec() == null) {
+                    warn(VALIDATION, "Invalid component blacklist entry (unknown component \"" + key + "\"): \"" + entry + "\"");
+                    valid = false;
+                    break;
+                }
+                conditions.add(new Condition(type, normalize(type, nbt.get(key), ops)));
+            }
+            if (!valid || conditions.isEmpty()) continue;
+
+            Item item = Registries.ITEM.get(id);
+            entries.computeIfAbsent(item, k -> new ArrayList<>()).add(new Entry(entry, List.copyOf(conditions)));
+            ids.add(id);
+            size++;
+            fingerprint += BlacklistSnapshot.hash64(entry);
+        }
+
+        if (entries.isEmpty()) return EMPTY;
+
+        entries.replaceAll((item, list) -> List.copyOf(list));
+        return new BlacklistPredicates(NEXT_GENERATION.incrementAndGet(), BlacklistIndex.compile(ids),
+                Collections.unmodifiableMap(entries), ops, size, fingerprint);
+    }
+
+    /** Decodes and re-encodes an expected value, falling back to it as written. */
+    private static <T> NbtElement normalize(ComponentType<T> type, NbtElement raw, DynamicOps<NbtElement> ops) {
+        Codec<T> codec = type.getCodec();
+        return codec.parse(ops, raw).result()
+                .flatMap(value -> codec.encodeStart(ops, value).result())
+                .orElse(raw);
+    }
+
+    /**
+     * Checks whether a stack matches any predicate entry.
+     * Items without predicates return after one bitset read;
+     * otherwise the verdict is cached on the stack's component map
+     * until the map changes or predicates are recompiled.
+     */
+    public boolean test(ItemStack stack) {
+        Item item = stack.getItem();
+        if (!index.contains(item)) return false;
+
+        ComponentMap components = stack.getComponents();
+        if (components instanceof ComponentVerdictCache cache) {
+            long cached = cache.item_blacklist$getVerdict();
+            if ((cached >>> 1) == generation) return (cached & 1L) != 0;
+            boolean verdict = evaluate(item, components);
+            cache.item_blacklist$setVerdict((generation << 1) | (verdict ? 1L : 0L));
+            return verdict;
+        }
+        return evaluate(item, components);
+    }
+
+    /** True if the item has any predicate entries; a single bitset read. */
+    public boolean mayMatch(Item item) {
+        return index.contains(item);
+    }
+
+    private boolean evaluate(Item item, ComponentMap components) {
+        List<Entry> list = entries.get(item);
+        if (list == null) return false;
+        for (Entry entry : list) {
+            if (matches(entry, components)) return true;
+        }
+        return false;
+    }
+
+    private boolean matches(Entry entry, ComponentMap components) {
+        for (Condition condition : entry.conditions()) {
+            NbtElement actual = encode(condition.type(), components);
+            if (actual == null || !NbtHelper.matches(condition.expected(), actual, true)) return false;
+        }
+        return true;
+    }
+
+    @Nullable
+    private <T> NbtElement encode(ComponentType<T> type, ComponentMap components) {
+        T value = components.get(type);
+        if (value == null) return null;
+        return type.getCodec().encodeStart(ops, value).result().orElse(null);
+    }
+
+    /** True if there are no predicate entries. */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /** Number of predicate entries. */
+    public int size() {
+        return size;
+    }
+
+    /** Content hash of the entries, stable across restarts. */
+    public long fingerprint() {
+        return fingerprint;
+    }
+}
@@ -0,0 +1,258 @@
+package net.sievert.item_blacklist;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.slot.Slot;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Spreads full inventory sweeps across ticks under a slot and time budget.
+ * Players are swept round-robin a few slots at a time; newly joined players
+ * and players whose inventory recently changed are served before routine
+ * safety sweeps. Changed slots are still checked immediately by the purge
+ * in {@code ServerPlayerEntityMixin}; only full sweeps go through here.
+ *
+ * <p>A sweep covers the player inventory, the ender chest, the cursor stack
+ * and the other slots of the open screen handler, in that order, including
+ * the contents of container stacks up to the configured nesting depth.
+ */
+public final class BlacklistPurgeScheduler {
+    /** Slots swept for one player before moving on to the next. */
+    private static final int SLOTS_PER_TURN = 16;
+
+    /** How often the time budget is checked, in slots. */
+    private static final int TIME_CHECK_INTERVAL = 8;
+
+    /** Ticks after a change during which a player's sweep is prioritized. */
+    public static final int RECENT_CHANGE_TICKS = 100;
+
+    private static final ArrayDeque<Sweep> PRIORITY = new ArrayDeque<>();
+    private static final ArrayDeque<Sweep> NORMAL = new ArrayDeque<>();
+    private static final Map<UUID, Sweep> QUEUED = new HashMap<>();
+
+    private static long lastTickNanos = 0L;
+    private static long totalNanos = 0L;
+    private static long tickCount = 0L;
+    private static long sweepsCompleted = 0L;
+    private static long slotsChecked = 0L;
+    private static long stacksRemoved = 0L;
+
+    /** A pending sweep of one player's inventory. */
+    private static final class Sweep {
+        final UUID player;
+        int nextSlot = 0;
+        boolean priority;
+
+        Sweep(UUID player, boolean priority) {
+            this.player = player;
+            this.priority = priority;
+        }
+    }
+
+    private BlacklistPurgeScheduler() {}
+
+    /** Processes the queue at the end of every server tick. */
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(BlacklistPurgeScheduler::tick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> clear());
+    }
+
+    /**
+     * Queues a full sweep of a player's inventory. A player already
+     * queued is not queued twice, but may be promoted to priority.
+     *
+     * @param restart if true, a sweep already in progress starts over, so
+     *                slots it already passed are checked against a changed blacklist
+     */
+    public static void requestSweep(ServerPlayerEntity player, boolean priority, boolean restart) {
+        Sweep queued = QUEUED.get(player.getUuid());
+        if (queued != null) {
+            if (restart) queued.nextSlot = 0;
+            if (priority && !queued.priority) {
+                NORMAL.remove(queued);
+                queued.priority = true;
+                PRIORITY.addLast(queued);
+            }
+            return;
+        }
+
+        Sweep sweep = new Sweep(player.getUuid(), priority);
+        QUEUED.put(sweep.player, sweep);
+        (priority ? PRIORITY : NORMAL).addLast(sweep);
+    }
+
+    private static void tick(MinecraftServer server) {
+        if (PRIORITY.isEmpty() && NORMAL.isEmpty()) {
+            lastTickNanos = 0L;
+            return;
+        }
+
+        BlacklistConfig config = ItemBlacklist.CONFIG;
+        if (config == null) return;
+
+        long start = System.nanoTime();
+        long deadline = start + config.purgeMicrosPerTick * 1000L;
+        int slotBudget = config.purgeSlotsPerTick;
+
+        while (slotBudget > 0) {
+            ArrayDeque<Sweep> queue = !PRIORITY.isEmpty() ? PRIORITY : NORMAL;
+            Sweep sweep = queue.pollFirst();
+            if (sweep == null) break;
+
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(sweep.player);
+            if (player == null || player.isRemoved()) {
+                QUEUED.remove(sweep.player);
+                continue;
+            }
+
+            BlacklistIndex index = ((ScopedBlacklistHolder) player).item_blacklist$getScopedIndex();
+            BlacklistPredicates predicates = predicatesFor(player);
+            int total = sweepSize(player);
+
+            int end = Math.min(total, sweep.nextSlot + Math.min(SLOTS_PER_TURN, slotBudget));
+            boolean outOfTime = false;
+            for (int slot = sweep.nextSlot; slot < end; slot++) {
+                purgeSweepSlot(player, slot, index, predicates, config.nestedScanDepth);
+                slotBudget--;
+                slotsChecked++;
+                sweep.nextSlot = slot + 1;
+                if ((slotsChecked % TIME_CHECK_INTERVAL) == 0 && System.nanoTime() >= deadline) {
+                    outOfTime = true;
+                    break;
+                }
+            }
+
+            if (sweep.nextSlot >= total) {
+                QUEUED.remove(sweep.player);
+                sweepsCompleted++;
+            } else {
+                // Round-robin: unfinished sweeps go to the back of their queue.
+                queue.addLast(sweep);
+            }
+
+            if (outOfTime) break;
+        }
+
+        lastTickNanos = System.nanoTime() - start;
+        totalNanos += lastTickNanos;
+        tickCount++;
+    }
+
+    /** Component entries follow the global list, so creative stays exempt from them. */
+    public static BlacklistPredicates predicatesFor(ServerPlayerEntity player) {
+        return player.isCreative() ? BlacklistPredicates.EMPTY : BlacklistPredicates.current();
+    }
+
+    /** Number of sweep slots: inventory, ender chest, cursor, then open screen handler slots. */
+    private static int sweepSize(ServerPlayerEntity player) {
+        return player.getInventory().size() + player.getEnderChestInventory().size() + 1
+                + player.currentScreenHandler.slots.size();
+    }
+
+    private static void purgeSweepSlot(ServerPlayerEntity player, int slot, BlacklistIndex index,
+                                       BlacklistPredicates predicates, int depth) {
+        PlayerInventory inventory = player.getInventory();
+        if (slot < inventory.size()) {
+            purgeSlot(player, inventory, slot, index, predicates, depth);
+            return;
+        }
+        slot -= inventory.size();
+
+        Inventory enderChest = player.getEnderChestInventory();
+        if (slot < enderChest.size()) {
+            purgeSlot(player, enderChest, slot, index, predicates, depth);
+            return;
+        }
+        slot -= enderChest.size();
+
+        ScreenHandler handler = player.currentScreenHandler;
+        if (slot == 0) {
+            purgeCursor(player, handler, index, predicates, depth);
+            return;
+        }
+        slot -= 1;
+
+        if (slot < handler.slots.size()) {
+            Slot screenSlot = handler.slots.get(slot);
+            // Player inventory and ender chest slots are covered above.
+            if (screenSlot.inventory instanceof PlayerInventory || screenSlot.inventory == enderChest) return;
+            ItemStack stack = screenSlot.getStack();
+            if (purgeStack(stack, index, predicates, depth, player)) {
+                screenSlot.setStack(ItemStack.EMPTY);
+            }
+        }
+    }
+
+    /**
+     * Clears a single inventory slot if it holds a blacklisted stack,
+     * or removes blacklisted stacks nested inside it, and tells the player.
+     */
+    public static void purgeSlot(ServerPlayerEntity player, Inventory inventory, int slot,
+                                 BlacklistIndex index, BlacklistPredicates predicates, int depth) {
+        ItemStack stack = inventory.getStack(slot);
+        if (purgeStack(stack, index, predicates, depth, player)) {
+            inventory.setStack(slot, ItemStack.EMPTY);
+        }
+    }
+
+    /** Checks the cursor stack of the player's open screen handler. */
+    public static void purgeCursor(ServerPlayerEntity player, ScreenHandler handler, BlacklistIndex index,
+                                   BlacklistPredicates predicates, int depth) {
+        if (purgeStack(handler.getCursorStack(), index, predicates, depth, player)) {
+            handler.setCursorStack(ItemStack.EMPTY);
+        }
+    }
+
+    /**
+     * Purges nested contents of a stack in place.
+     *
+     * @return true if the stack itself is blacklisted and must be cleared
+     */
+    private static boolean purgeStack(ItemStack stack, BlacklistIndex index, BlacklistPredicates predicates,
+                                      int depth, ServerPlayerEntity player) {
+        if (stack.isEmpty()) return false;
+
+        int removed;
+        boolean blacklisted = BlacklistNested.isBlacklisted(stack, index, predicates);
+        if (blacklisted) {
+            removed = 1;
+        } else {
+            removed = BlacklistNested.purge(stack, index, predicates, depth);
+        }
+        if (removed == 0) return false;
+
+        stacksRemoved += removed;
+        player.sendMessage(
+                Text.translatable("item.blacklist.disabled")
+                        .formatted(Formatting.RED),
+                true
+        );
+        return blacklisted;
+    }
+
+    private static void clear() {
+        PRIORITY.clear();
+        NORMAL.clear();
+        QUEUED.clear();
+    }
+
+    public static int priorityDepth() { return PRIORITY.size(); }
+    public static int normalDepth() { return NORMAL.size(); }
+    public static long lastTickMicros() { return lastTickNanos / 1000L; }
+    public static long averageTickMicros() { return tickCount == 0 ? 0L : totalNanos / tickCount / 1000L; }
+    public static long sweepsCompleted() { return sweepsCompleted; }
+    public static long slotsChecked() { return slotsChecked; }
+    public static long stacksRemoved() { return stacksRemoved; }
+}
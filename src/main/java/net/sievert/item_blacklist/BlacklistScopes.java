@@ -0,0 +1,203 @@
+package net.sievert.item_blacklist;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.GameMode;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.sievert.item_blacklist.BlacklistLogger.*;
+import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
+
+/**
+ * Scoped blacklists that only apply in a given dimension, game mode
+ * or up to a given permission level. Each scope is compiled into its
+ * own index ahead of time; a player's effective index is resolved when
+ * their dimension, game mode or permission level changes and cached on
+ * the player, so the inventory purge never resolves scopes per slot.
+ */
+public final class BlacklistScopes {
+    /** Scopes with no entries. */
+    public static final BlacklistScopes EMPTY = new BlacklistScopes(0L, List.of());
+
+    private static final AtomicLong NEXT_VERSION = new AtomicLong();
+    private static volatile BlacklistScopes current = EMPTY;
+
+    private final long version;
+    private final List<Scope> scopes;
+
+    /**
+     * A scope as read from the config. Null conditions match anything;
+     * a negative permission level means no permission limit.
+     */
+    public record Definition(@Nullable RegistryKey<World> dimension, @Nullable GameMode gameMode,
+                             int maxPermissionLevel, Set<String> rawBlacklist) {}
+
+    /** A scope with its entries validated and compiled. */
+    private record Scope(Definition definition, Set<Identifier> ids, BlacklistIndex index) {
+        boolean matches(RegistryKey<World> dimension, GameMode gameMode, int permissionLevel) {
+            if (definition.dimension() != null && definition.dimension() != dimension) return false;
+            // Creative players are exempt unless a scope targets creative explicitly.
+            if (definition.gameMode() == null ? gameMode == GameMode.CREATIVE : definition.gameMode() != gameMode) return false;
+            return definition.maxPermissionLevel() < 0 || permissionLevel <= definition.maxPermissionLevel();
+        }
+    }
+
+    private BlacklistScopes(long version, List<Scope> scopes) {
+        this.version = version;
+        this.scopes = scopes;
+    }
+
+    /** Invalidates a player's cached index when they change dimension. */
+    public static void init() {
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) ->
+                ((ScopedBlacklistHolder) player).item_blacklist$invalidateScope());
+    }
+
+    /** Returns the currently published scopes. */
+    public static BlacklistScopes current() {
+        return current;
+    }
+
+    /** Publishes compiled scopes; cached player indexes refresh on next use. */
+    public static void publish(BlacklistScopes scopes) {
+        current = scopes;
+    }
+
+    /**
+     * Parses the "Scopes" array of the config.
+     * Does not validate entries.
+     */
+    public static List<Definition> parse(JsonArray array) {
+        List<Definition> definitions = new ArrayList<>();
+        for (JsonElement el : array) {
+            if (!el.isJsonObject()) continue;
+            JsonObject obj = el.getAsJsonObject();
+
+            RegistryKey<World> dimension = null;
+            JsonElement dim = obj.get("Dimension");
+            if (dim != null && dim.isJsonPrimitive()) {
+                Identifier id = Identifier.tryParse(dim.getAsString());
+                if (id == null) {
+                    warn(VALIDATION, "Invalid scope dimension: \"" + dim.getAsString() + "\"; skipping scope");
+                    continue;
+                }
+                dimension = RegistryKey.of(RegistryKeys.WORLD, id);
+            }
+
+            GameMode gameMode = null;
+            JsonElement mode = obj.get("Game Mode");
+            if (mode != null && mode.isJsonPrimitive()) {
+                gameMode = GameMode.byName(mode.getAsString(), null);
+                if (gameMode == null) {
+                    warn(VALIDATION, "Invalid scope game mode: \"" + mode.getAsString() + "\"; skipping scope");
+                    continue;
+                }
+            }
+
+            int maxPermissionLevel = -1;
+            JsonElement level = obj.get("Max Permission Level");
+            if (level != null) {
+                if (level.isJsonPrimitive() && level.getAsJsonPrimitive().isNumber()) {
+                    maxPermissionLevel = level.getAsInt();
+                } else {
+                    warn(VALIDATION, "Invalid scope max permission level: " + level + "; ignoring it");
+                }
+            }
+
+            Set<String> raw = new HashSet<>();
+            JsonArray entries = obj.getAsJsonArray("Blacklist");
+            if (entries != null) {
+                for (JsonElement entry : entries) {
+                    if (entry.isJsonPrimitive() && entry.getAsJsonPrimitive().isString()) {
+                        raw.add(entry.getAsString());
+                    }
+                }
+            }
+
+            definitions.add(new Definition(dimension, gameMode, maxPermissionLevel, Set.copyOf(raw)));
+        }
+        return List.copyOf(definitions);
+    }
+
+    /**
+     * Validates and compiles scope definitions against the item registry.
+     * Scope entries may be exact ids or namespace, glob and regex patterns;
+     * tag and component entries are only supported in the global list.
+     */
+    public static BlacklistScopes compile(List<Definition> definitions) {
+        if (definitions.isEmpty()) return EMPTY;
+
+        List<Scope> compiled = new ArrayList<>();
+        for (Definition definition : definitions) {
+            Set<Identifier> ids = new HashSet<>();
+            for (String raw : definition.rawBlacklist()) {
+                if (BlacklistPatterns.isPattern(raw) || BlacklistPredicates.isPredicate(raw)) continue;
+                Identifier id = Identifier.tryParse(raw);
+                if (id == null || !Registries.ITEM.containsId(id)) {
+                    warn(VALIDATION, "Invalid scoped blacklist entry: \"" + raw + "\"");
+                    continue;
+                }
+                ids.add(id);
+            }
+
+            BlacklistPatterns patterns = BlacklistPatterns.parse(definition.rawBlacklist());
+            if (patterns.hasTags()) {
+                warn(VALIDATION, "Tag entries are not supported in scoped blacklists; ignoring them");
+            }
+            ids.addAll(patterns.expandRegistry());
+
+            for (String raw : definition.rawBlacklist()) {
+                if (BlacklistPredicates.isPredicate(raw)) {
+                    warn(VALIDATION, "Component entries are not supported in scoped blacklists: \"" + raw + "\"");
+                }
+            }
+
+            compiled.add(new Scope(definition, Set.copyOf(ids), BlacklistIndex.compile(ids)));
+        }
+        return new BlacklistScopes(NEXT_VERSION.incrementAndGet(), List.copyOf(compiled));
+    }
+
+    /** Rebuilds every scope index against current raw ids. */
+    public BlacklistScopes recompile() {
+        if (scopes.isEmpty()) return this;
+        List<Scope> compiled = new ArrayList<>(scopes.size());
+        for (Scope scope : scopes) {
+            compiled.add(new Scope(scope.definition(), scope.ids(), BlacklistIndex.compile(scope.ids())));
+        }
+        return new BlacklistScopes(NEXT_VERSION.incrementAndGet(), List.copyOf(compiled));
+    }
+
+    /**
+     * Resolves the effective index for a player: the global index
+     * (unless they are in creative) plus every matching scope.
+     */
+    public BlacklistIndex resolve(ServerPlayerEntity player, BlacklistSnapshot snapshot) {
+        GameMode gameMode = player.interactionManager.getGameMode();
+        BlacklistIndex index = gameMode == GameMode.CREATIVE ? BlacklistIndex.EMPTY : snapshot.index();
+        if (scopes.isEmpty()) return index;
+
+        RegistryKey<World> dimension = player.getServerWorld().getRegistryKey();
+        int permissionLevel = player.server.getPermissionLevel(player.getGameProfile());
+        for (Scope scope : scopes) {
+            if (scope.matches(dimension, gameMode, permissionLevel)) {
+                index = index.union(scope.index());
+            }
+        }
+        return index;
+    }
+
+    public long version() { return version; }
+    public int size() { return scopes.size(); }
+    public boolean isEmpty() { return scopes.isEmpty(); }
+}
@@ -0,0 +1,163 @@
+package net.sievert.item_blacklist;
+
+import net.minecraft.item.Item;
+import net.minecraft.util.Identifier;
+import net.sievert.item_blacklist.api.BlacklistChangedCallback;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable, versioned view of the validated blacklist.
+ * Snapshots are built off to the side and published by atomic swap,
+ * so readers on any thread do a single load with no locking.
+ */
+public final class BlacklistSnapshot {
+    /** Snapshot with no entries, published until the config is validated. */
+    public static final BlacklistSnapshot EMPTY = new BlacklistSnapshot(0L, Set.of(), Set.of(), Set.of(), BlacklistIndex.EMPTY, BlacklistIdMatcher.EMPTY, 0L);
+
+    private static final AtomicLong NEXT_VERSION = new AtomicLong();
+    private static final AtomicReference<BlacklistSnapshot> CURRENT = new AtomicReference<>(EMPTY);
+
+    private final long version;
+    private final Set<Identifier> ids;
+    private final Set<Identifier> baseIds;
+    private final Set<Identifier> tagIds;
+    private final BlacklistIndex index;
+    private final BlacklistIdMatcher idMatcher;
+    private final long fingerprint;
+
+    private BlacklistSnapshot(long version, Set<Identifier> ids, Set<Identifier> baseIds, Set<Identifier> tagIds,
+                              BlacklistIndex index, BlacklistIdMatcher idMatcher, long fingerprint) {
+        this.version = version;
+        this.ids = ids;
+        this.baseIds = baseIds;
+        this.tagIds = tagIds;
+        this.index = index;
+        this.idMatcher = idMatcher;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Builds a new snapshot from validated identifiers.
+     * Safe to call from any thread once the item registry is populated.
+     */
+    public static BlacklistSnapshot build(Collection<Identifier> ids) {
+        return build(ids, Set.of());
+    }
+
+    /**
+     * Builds a new snapshot from validated identifiers and the
+     * identifiers expanded from tag entries, which are kept apart
+     * so they can be re-expanded when tags reload.
+     */
+    public static BlacklistSnapshot build(Collection<Identifier> baseIds, Collection<Identifier> tagIds) {
+        Set<Identifier> base = Set.copyOf(baseIds);
+        Set<Identifier> tags = Set.copyOf(tagIds);
+        Set<Identifier> all;
+        if (tags.isEmpty()) {
+            all = base;
+        } else {
+            Set<Identifier> union = new HashSet<>(base);
+            union.addAll(tags);
+            all = Set.copyOf(union);
+        }
+        long fingerprint = 0L;
+        for (Identifier id : all) fingerprint += hash64(id.toString());
+        return new BlacklistSnapshot(NEXT_VERSION.incrementAndGet(), all, base, tags,
+                BlacklistIndex.compile(all), BlacklistIdMatcher.compile(all), fingerprint);
+    }
+
+    /**
+     * 64-bit hash of a string (FNV-1a with a final mix), stable across
+     * runs. Entry hashes are summed, so fingerprints ignore order.
+     */
+    static long hash64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Returns the currently published snapshot. */
+    public static BlacklistSnapshot current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Publishes a snapshot. A snapshot older than the current one
+     * is ignored, so racing publishers can never roll the list back.
+     * Fires {@link BlacklistChangedCallback} when the set of items changed.
+     *
+     * @return true if the snapshot was swapped in
+     */
+    public static boolean publish(BlacklistSnapshot next) {
+        while (true) {
+            BlacklistSnapshot prev = CURRENT.get();
+            if (prev.version >= next.version) return false;
+            if (CURRENT.compareAndSet(prev, next)) {
+                fireChanged(prev, next);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Publishes a snapshot only if {@code expected} is still current.
+     * Publishers that derive their snapshot from the current one use this
+     * in a loop, so a concurrent publish is re-read instead of overwritten.
+     *
+     * @return true if the snapshot was swapped in
+     */
+    public static boolean publishOver(BlacklistSnapshot expected, BlacklistSnapshot next) {
+        if (!CURRENT.compareAndSet(expected, next)) return false;
+        fireChanged(expected, next);
+        return true;
+    }
+
+    private static void fireChanged(BlacklistSnapshot prev, BlacklistSnapshot next) {
+        int[] added = next.index.rawIdsNotIn(prev.index);
+        int[] removed = prev.index.rawIdsNotIn(next.index);
+        if (added.length == 0 && removed.length == 0) return;
+        BlacklistChangedCallback.EVENT.invoker().onChanged(next.version, added, removed);
+    }
+
+    /** Builds a new snapshot with the same entries against current raw ids. */
+    public BlacklistSnapshot recompile() {
+        return build(baseIds, tagIds);
+    }
+
+    /** Builds a new snapshot with the same base entries and new tag-expanded entries. */
+    public BlacklistSnapshot withTagIds(Collection<Identifier> tagIds) {
+        return build(baseIds, tagIds);
+    }
+
+    /** Checks whether the given item is blacklisted. */
+    public boolean contains(Item item) {
+        return index.contains(item);
+    }
+
+    /** Checks whether the given item id is blacklisted. */
+    public boolean contains(Identifier id) {
+        return ids.contains(id);
+    }
+
+    public long version() { return version; }
+    public Set<Identifier> ids() { return ids; }
+    public Set<Identifier> baseIds() { return baseIds; }
+    public Set<Identifier> tagIds() { return tagIds; }
+    public BlacklistIndex index() { return index; }
+    public BlacklistIdMatcher idMatcher() { return idMatcher; }
+    /** Content hash of the blacklisted ids; unlike the version, it is stable across restarts. */
+    public long fingerprint() { return fingerprint; }
+    public int size() { return ids.size(); }
+    public boolean isEmpty() { return ids.isEmpty(); }
+}
@@ -0,0 +1,137 @@
+package net.sievert.item_blacklist;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.DispenserBlock;
+import net.minecraft.block.dispenser.DispenserBehavior;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.command.GiveCommand;
+import net.minecraft.server.command.LootCommand;
+import net.minecraft.server.command.SummonCommand;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Blocks blacklisted item entities before they are added to a world,
+ * and strips blacklisted spawn equipment from mobs. The check is one
+ * bitset read per item entity or equipment slot; the source of a
+ * blocked spawn is only looked up on the (rare) blocked path.
+ */
+public final class BlacklistSpawnGuard {
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /** Frames inspected when attributing a blocked spawn. */
+    private static final int MAX_FRAMES = 32;
+
+    private static final Map<String, LongAdder> BLOCKED = new ConcurrentHashMap<>();
+    private static final LongAdder EQUIPMENT_STRIPPED = new LongAdder();
+
+    private BlacklistSpawnGuard() {}
+
+    /**
+     * Checks an entity about to be spawned.
+     *
+     * @return true if the spawn must be cancelled
+     */
+    public static boolean shouldBlock(Entity entity) {
+        if (entity instanceof MobEntity mob) {
+            stripEquipment(mob);
+            return false;
+        }
+        if (!(entity instanceof ItemEntity itemEntity)) return false;
+        ItemStack stack = itemEntity.getStack();
+        if (!BlacklistNested.isBlacklisted(stack, BlacklistSnapshot.current().index(), BlacklistPredicates.current())) {
+            return false;
+        }
+        BLOCKED.computeIfAbsent(findSource(), k -> new LongAdder()).increment();
+        return true;
+    }
+
+    /**
+     * Replaces blacklisted equipment of a freshly initialized or loaded
+     * mob, so it is never held, worn, ticked or dropped. Replacements never drop.
+     */
+    public static void stripEquipment(MobEntity mob) {
+        BlacklistIndex index = BlacklistSnapshot.current().index();
+        BlacklistPredicates predicates = BlacklistPredicates.current();
+
+        for (EquipmentSlot slot : EquipmentSlot.values()) {
+            ItemStack stack = mob.getEquippedStack(slot);
+            if (stack.isEmpty() || !BlacklistNested.isBlacklisted(stack, index, predicates)) continue;
+
+            mob.equipStack(slot, replacement());
+            mob.setEquipmentDropChance(slot, 0.0F);
+            EQUIPMENT_STRIPPED.increment();
+        }
+    }
+
+    private static ItemStack replacement() {
+        BlacklistConfig config = ItemBlacklist.CONFIG;
+        if (config == null || config.mobEquipmentReplacement == null) return ItemStack.EMPTY;
+
+        Item item = Registries.ITEM.get(config.mobEquipmentReplacement);
+        if (ItemBlacklist.isBlacklisted(item)) return ItemStack.EMPTY;
+        return new ItemStack(item);
+    }
+
+    /**
+     * Attributes a spawn to its source by walking the call stack.
+     * Uses class references rather than names, so it works with
+     * obfuscated runtime names.
+     */
+    private static String findSource() {
+        return WALKER.walk(frames -> {
+            String fallback = null;
+            Iterator<StackWalker.StackFrame> it = frames.limit(MAX_FRAMES).iterator();
+            while (it.hasNext()) {
+                Class<?> cls = it.next().getDeclaringClass();
+                if (cls == BlacklistSpawnGuard.class || ServerWorld.class.isAssignableFrom(cls) || cls == World.class) continue;
+
+                if (cls == GiveCommand.class || cls == SummonCommand.class || cls == LootCommand.class) return "commands";
+                if (fallback != null) continue;
+
+                String name = cls.getName();
+                if (!isPlatformClass(name)) {
+                    fallback = "mod " + cls.getPackageName();
+                } else if (DispenserBehavior.class.isAssignableFrom(cls) || DispenserBlock.class.isAssignableFrom(cls)) {
+                    fallback = "dispensers";
+                } else if (Block.class.isAssignableFrom(cls) || BlockEntity.class.isAssignableFrom(cls)) {
+                    fallback = "block drops";
+                } else if (Entity.class.isAssignableFrom(cls)) {
+                    fallback = "entity drops";
+                }
+            }
+            return fallback != null ? fallback : "other vanilla";
+        });
+    }
+
+    private static boolean isPlatformClass(String name) {
+        return name.startsWith("net.minecraft.") || name.startsWith("com.mojang.")
+                || name.startsWith("net.fabricmc.") || name.startsWith("java.")
+                || name.startsWith("org.spongepowered.");
+    }
+
+    /** Number of blacklisted mob equipment stacks replaced at spawn. */
+    public static long equipmentStripped() {
+        return EQUIPMENT_STRIPPED.sum();
+    }
+
+    /** Blocked spawn counts by source, sorted by source. */
+    public static Map<String, Long> blockedBySource() {
+        Map<String, Long> counts = new TreeMap<>();
+        BLOCKED.forEach((source, count) -> counts.put(source, count.sum()));
+        return counts;
+    }
+}
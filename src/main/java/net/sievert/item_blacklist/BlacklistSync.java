@@ -0,0 +1,149 @@
+package net.sievert.item_blacklist;
+
+import io.netty.handler.codec.DecoderException;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import net.sievert.item_blacklist.api.BlacklistChangedCallback;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Sends the server's validated blacklist to clients, so tooltips and
+ * client-side filtering follow the server instead of the local config.
+ * Players get the full list on join and deltas after every change.
+ *
+ * <p>Lists are sent as item raw ids, which registry sync keeps identical
+ * on both sides: a varint count, then ascending ids as varint gaps, so a
+ * run of adjacent ids costs one byte each. Component entries are not
+ * synced. Clients without the mod never receive the payload.
+ */
+public final class BlacklistSync {
+    public static final CustomPayload.Id<Payload> ID = new CustomPayload.Id<>(Identifier.of(ItemBlacklist.MOD_ID, "sync"));
+
+    private static volatile MinecraftServer server;
+
+    /** Client side: snapshot from the local config, kept while a server's list is applied. */
+    private static BlacklistSnapshot localSnapshot;
+    private static final Set<Identifier> SYNCED = new HashSet<>();
+
+    /**
+     * Full list or delta of blacklisted item raw ids.
+     *
+     * @param full if true, {@code added} is the complete list and {@code removed} is empty
+     */
+    public record Payload(long version, boolean full, int[] added, int[] removed) implements CustomPayload {
+        public static final PacketCodec<PacketByteBuf, Payload> CODEC = CustomPayload.codecOf(Payload::write, Payload::read);
+
+        private void write(PacketByteBuf buf) {
+            buf.writeVarLong(version);
+            buf.writeBoolean(full);
+            writeRawIds(buf, added);
+            writeRawIds(buf, removed);
+        }
+
+        private static Payload read(PacketByteBuf buf) {
+            long version = buf.readVarLong();
+            boolean full = buf.readBoolean();
+            int[] added = readRawIds(buf);
+            int[] removed = readRawIds(buf);
+            return new Payload(version, full, added, removed);
+        }
+
+        @Override
+        public Id<? extends CustomPayload> getId() {
+            return ID;
+        }
+    }
+
+    private BlacklistSync() {}
+
+    /** Registers the payload and server-side senders. Called on both sides. */
+    public static void init() {
+        PayloadTypeRegistry.playS2C().register(ID, Payload.CODEC);
+
+        ServerLifecycleEvents.SERVER_STARTED.register(started -> server = started);
+        ServerLifecycleEvents.SERVER_STOPPED.register(stopped -> server = null);
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, joined) -> sendFull(handler.player));
+        BlacklistChangedCallback.EVENT.register(BlacklistSync::broadcastDelta);
+    }
+
+    private static void sendFull(ServerPlayerEntity player) {
+        if (!ServerPlayNetworking.canSend(player, ID)) return;
+        BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+        int[] rawIds = snapshot.index().rawIdsNotIn(BlacklistIndex.EMPTY);
+        ServerPlayNetworking.send(player, new Payload(snapshot.version(), true, rawIds, new int[0]));
+    }
+
+    /** Publishing may happen off-thread; sends are handed to the server thread. */
+    private static void broadcastDelta(long version, int[] added, int[] removed) {
+        MinecraftServer current = server;
+        if (current == null) return;
+        Payload payload = new Payload(version, false, added, removed);
+        current.execute(() -> {
+            for (ServerPlayerEntity player : current.getPlayerManager().getPlayerList()) {
+                if (ServerPlayNetworking.canSend(player, ID)) ServerPlayNetworking.send(player, payload);
+            }
+        });
+    }
+
+    /**
+     * Client side: applies a server's list in place of the local one.
+     * Must run on the client thread, and not for an integrated server,
+     * which already shares the published snapshot.
+     */
+    public static void applyRemote(Payload payload) {
+        if (localSnapshot == null) localSnapshot = BlacklistSnapshot.current();
+        if (payload.full()) SYNCED.clear();
+
+        for (int rawId : payload.removed()) SYNCED.remove(idOf(rawId));
+        for (int rawId : payload.added()) {
+            Identifier id = idOf(rawId);
+            if (id != null) SYNCED.add(id);
+        }
+        BlacklistSnapshot.publish(BlacklistSnapshot.build(SYNCED));
+    }
+
+    /** Client side: drops the server's list and restores the local one. */
+    public static void restoreLocal() {
+        if (localSnapshot == null) return;
+        BlacklistSnapshot.publish(localSnapshot.recompile());
+        localSnapshot = null;
+        SYNCED.clear();
+    }
+
+    private static Identifier idOf(int rawId) {
+        return Registries.ITEM.getEntry(rawId).map(entry -> entry.registryKey().getValue()).orElse(null);
+    }
+
+    private static void writeRawIds(PacketByteBuf buf, int[] rawIds) {
+        buf.writeVarInt(rawIds.length);
+        int previous = -1;
+        for (int rawId : rawIds) {
+            buf.writeVarInt(rawId - previous - 1);
+            previous = rawId;
+        }
+    }
+
+    private static int[] readRawIds(PacketByteBuf buf) {
+        int count = buf.readVarInt();
+        // Every id takes at least one byte.
+        if (count < 0 || count > buf.readableBytes()) throw new DecoderException("Invalid blacklist id count: " + count);
+        int[] rawIds = new int[count];
+        int previous = -1;
+        for (int i = 0; i < count; i++) {
+            previous += buf.readVarInt() + 1;
+            rawIds[i] = previous;
+        }
+        return rawIds;
+    }
+}
@@ -1,5 +1,7 @@
 package net.sievert.item_blacklist;
 
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.util.Identifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -15,6 +17,7 @@ public class BlacklistTags {
     private static final Map<Identifier, List<Identifier>> removedEntriesByTag = new ConcurrentHashMap<>();
     private static boolean warnedNoConfig = false;
     private static boolean summaryPrinted = false;
+    private static volatile Map<Identifier, Set<Identifier>> itemTagMembers = Map.of();
 
     private BlacklistTags() {}
 
@@ -26,6 +29,49 @@ public class BlacklistTags {
         resetStats(); // Always reset stats before a reload
     }
 
+    /**
+     * Called by TagGroupLoaderMixin with the unfiltered item tags.
+     * Records tag contents and re-expands tag entries of the blacklist,
+     * publishing a new snapshot if the expansion changed.
+     *
+     * @return the snapshot item tags should be filtered with
+     */
+    public static BlacklistSnapshot captureItemTags(Map<Identifier, ? extends Collection<?>> tags, BlacklistConfig config) {
+        Map<Identifier, Set<Identifier>> members = new HashMap<>();
+        for (Map.Entry<Identifier, ? extends Collection<?>> entry : tags.entrySet()) {
+            Set<Identifier> ids = new HashSet<>();
+            for (Object value : entry.getValue()) {
+                if (value instanceof RegistryEntry<?> regEntry) {
+                    regEntry.getKey().map(RegistryKey::getValue).ifPresent(ids::add);
+                }
+            }
+            members.put(entry.getKey(), Set.copyOf(ids));
+        }
+        itemTagMembers = Map.copyOf(members);
+
+        if (!config.patterns.hasTags() && BlacklistSnapshot.current().tagIds().isEmpty()) {
+            return BlacklistSnapshot.current();
+        }
+
+        Set<Identifier> tagIds = config.patterns.expandTags(itemTagMembers);
+        while (true) {
+            // Re-read on every attempt: a hot reload may publish new base ids meanwhile.
+            BlacklistSnapshot current = BlacklistSnapshot.current();
+            if (tagIds.equals(current.tagIds())) return current;
+
+            BlacklistSnapshot next = current.withTagIds(tagIds);
+            if (BlacklistSnapshot.publishOver(current, next)) {
+                info(TAG, "Tag blacklist entries expanded to " + tagIds.size() + " " + pluralize(tagIds.size(), "item", "items"));
+                return next;
+            }
+        }
+    }
+
+    /** Unfiltered item tag contents from the last tag load. */
+    public static Map<Identifier, Set<Identifier>> itemTagMembers() {
+        return itemTagMembers;
+    }
+
     /** Called by TagGroupLoaderMixin for each tag entry removed */
     public static void reportRemoval(Identifier tagId, Identifier entryId) {
         totalRemoved++;
@@ -0,0 +1,80 @@
+package net.sievert.item_blacklist;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Language;
+
+/**
+ * Tooltip-side blacklist cache. Tooltips are rebuilt every frame while
+ * hovered, so the verdict for each item is precomputed into an array by
+ * raw id, and the warning line is a single shared {@link Text}. Both are
+ * rebuilt only when the blacklist, the component entries, the raw id
+ * layout or the language change; stacks of allowed items cost one array
+ * read and allocate nothing.
+ */
+public final class BlacklistTooltips {
+    private static final byte ALLOWED = 0;
+    private static final byte BLACKLISTED = 1;
+    /** The item has component entries; the stack itself must be tested. */
+    private static final byte CHECK_COMPONENTS = 2;
+
+    /** Verdicts by item raw id, and what they were built from. */
+    private record Verdicts(BlacklistSnapshot snapshot, BlacklistPredicates predicates, int epoch, byte[] byRawId) {}
+
+    /** The warning line, and the language it was built for. */
+    private record Warning(Language language, Text text) {}
+
+    private static volatile Verdicts verdicts = new Verdicts(null, null, -1, new byte[0]);
+    private static volatile Warning warning = new Warning(null, null);
+
+    private BlacklistTooltips() {}
+
+    /** Same result as {@link ItemBlacklist#isBlacklisted(ItemStack)}, from the cached verdicts. */
+    public static boolean isBlacklisted(ItemStack stack) {
+        if (stack.isEmpty()) return false;
+        byte[] table = verdicts();
+        int rawId = ((ItemRawIdHolder) stack.getItem()).item_blacklist$getRawId();
+        if (rawId < 0 || rawId >= table.length) return false;
+
+        byte verdict = table[rawId];
+        if (verdict == ALLOWED) return false;
+        return verdict == BLACKLISTED || BlacklistPredicates.current().test(stack);
+    }
+
+    /** The shared, immutable blacklist warning line for the current language. */
+    public static Text warning() {
+        Warning current = warning;
+        Language language = Language.getInstance();
+        if (current.language() != language) {
+            current = new Warning(language, Text.translatable("item.blacklist.disabled").formatted(Formatting.RED));
+            warning = current;
+        }
+        return current.text();
+    }
+
+    private static byte[] verdicts() {
+        Verdicts current = verdicts;
+        BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+        BlacklistPredicates predicates = BlacklistPredicates.current();
+        int epoch = BlacklistIndex.rawIdEpoch();
+        if (current.snapshot() != snapshot || current.predicates() != predicates || current.epoch() != epoch) {
+            current = new Verdicts(snapshot, predicates, epoch, build(snapshot.index(), predicates));
+            verdicts = current;
+        }
+        return current.byRawId();
+    }
+
+    private static byte[] build(BlacklistIndex index, BlacklistPredicates predicates) {
+        byte[] table = new byte[Registries.ITEM.size()];
+        for (int rawId = 0; rawId < table.length; rawId++) {
+            if (index.containsRawId(rawId)) {
+                table[rawId] = BLACKLISTED;
+            } else if (predicates.mayMatch(Registries.ITEM.get(rawId))) {
+                table[rawId] = CHECK_COMPONENTS;
+            }
+        }
+        return table;
+    }
+}
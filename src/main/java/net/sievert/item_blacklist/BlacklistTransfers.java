@@ -0,0 +1,76 @@
+package net.sievert.item_blacklist;
+
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+/**
+ * Blacklist checks for automated item transfer: hoppers and the
+ * Fabric Transfer API. Blacklisted stacks are voided or refused
+ * depending on {@link BlacklistConfig#voidBlacklistedTransfers}.
+ */
+public final class BlacklistTransfers {
+    private static long voided = 0L;
+    private static long rejected = 0L;
+
+    private BlacklistTransfers() {}
+
+    /** Checks a stack about to be transferred. */
+    public static boolean isBlacklisted(ItemStack stack) {
+        return BlacklistNested.isBlacklisted(stack, BlacklistSnapshot.current().index(), BlacklistPredicates.current());
+    }
+
+    /**
+     * Checks a variant about to be inserted. Only builds a stack
+     * when the item has component entries.
+     */
+    public static boolean isBlacklisted(ItemVariant variant) {
+        Item item = variant.getItem();
+        if (BlacklistSnapshot.current().contains(item)) return true;
+        BlacklistPredicates predicates = BlacklistPredicates.current();
+        return predicates.mayMatch(item) && predicates.test(variant.toStack());
+    }
+
+    /**
+     * Decides what happens to a blacklisted transfer and counts it.
+     *
+     * @return true to void the stack, false to refuse it
+     */
+    public static boolean shouldVoid() {
+        boolean voiding = voids();
+        count(voiding);
+        return voiding;
+    }
+
+    /**
+     * Decides what happens to a blacklisted transfer inside a transaction.
+     * It is only counted once the outer transaction commits, so simulated
+     * and aborted inserts leave the counters alone.
+     *
+     * @return true to void the stack, false to refuse it
+     */
+    public static boolean shouldVoid(TransactionContext transaction) {
+        boolean voiding = voids();
+        transaction.addOuterCloseCallback(result -> {
+            if (result.wasCommitted()) count(voiding);
+        });
+        return voiding;
+    }
+
+    private static boolean voids() {
+        BlacklistConfig config = ItemBlacklist.CONFIG;
+        return config == null || config.voidBlacklistedTransfers;
+    }
+
+    private static void count(boolean voiding) {
+        if (voiding) {
+            voided++;
+        } else {
+            rejected++;
+        }
+    }
+
+    public static long voided() { return voided; }
+    public static long rejected() { return rejected; }
+}
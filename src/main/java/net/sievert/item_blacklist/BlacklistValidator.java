@@ -12,7 +12,8 @@ import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
 
 /**
  * Utility for validating blacklist entries against
- * vanilla and modded item registries.
+ * vanilla and modded item registries. Pattern entries
+ * are handled by {@link BlacklistPatterns}.
  */
 public final class BlacklistValidator {
     private BlacklistValidator() {}
@@ -29,6 +30,7 @@ public final class BlacklistValidator {
 
         for (String raw : input) {
             if (raw == null || !raw.contains(":")) continue;
+            if (BlacklistPatterns.isPattern(raw) || BlacklistPredicates.isPredicate(raw)) continue;
 
             Identifier id;
             try {
@@ -71,6 +73,7 @@ public final class BlacklistValidator {
 
         for (String raw : input) {
             if (raw == null) continue;
+            if (BlacklistPatterns.isPattern(raw) || BlacklistPredicates.isPredicate(raw)) continue;
             if (!raw.contains(":")) {
                 if (seenInvalid.add(raw)) {
                     warn(VALIDATION, "Invalid blacklist entry: \"" + raw + "\"");
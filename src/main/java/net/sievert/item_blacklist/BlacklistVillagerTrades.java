@@ -5,11 +5,13 @@ import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.minecraft.item.ItemStack;
 import net.minecraft.registry.Registries;
 import net.minecraft.text.Text;
+import net.minecraft.village.TradeOffer;
 import net.minecraft.village.TradeOffers;
 import net.minecraft.village.TradedItem;
 import net.minecraft.village.VillagerProfession;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -62,7 +64,7 @@ public final class BlacklistVillagerTrades {
         int totalRemoved = vanillaRemoved + moddedRemoved;
         String label = pluralize(totalRemoved, "trade", "trades");
         BlacklistConfig config = ItemBlacklist.CONFIG;
-        if (config == null || config.blacklist.isEmpty()) {
+        if (config == null || BlacklistSnapshot.current().isEmpty()) {
             info(TRADE, "No blacklist config present. Skipping villager trade filter.");
             return;
         }
@@ -76,17 +78,20 @@ public final class BlacklistVillagerTrades {
     /**
      * Applies blacklist filtering to non-vanilla, non-Fabric trades.
      * Assumes the blacklist has already been validated.
+     * Also re-run by hot reload, where already-filtered tables only lose newly blacklisted trades.
+     *
+     * @return number of trade factories removed
      */
-    private static void applyBlacklist() {
+    static int applyBlacklist() {
         if (ItemBlacklist.CONFIG == null) {
             warn(TRADE, "Config not loaded; skipping other modded trade blacklist.");
-            return;
+            return 0;
         }
 
         AtomicInteger removed = new AtomicInteger();
 
         for (Map<VillagerProfession, Int2ObjectMap<TradeOffers.Factory[]>> map :
-                java.util.List.of(TradeOffers.PROFESSION_TO_LEVELED_TRADE)) {
+                List.of(TradeOffers.PROFESSION_TO_LEVELED_TRADE)) {
             for (var entry : map.entrySet()) {
                 VillagerProfession profession = entry.getKey();
                 Int2ObjectMap<TradeOffers.Factory[]> byLevel = entry.getValue();
@@ -115,6 +120,7 @@ public final class BlacklistVillagerTrades {
         }
 
         incrementOtherRemoved(removed.get());
+        return removed.get();
     }
 
     /** Determines whether a trade factory should be kept. */
@@ -173,10 +179,16 @@ public final class BlacklistVillagerTrades {
     }
 
 
+    /** Checks if any item of an existing trade offer is blacklisted. */
+    public static boolean isBlacklisted(TradeOffer offer) {
+        return isBlacklisted(offer.getSellItem())
+                || isBlacklisted(offer.getOriginalFirstBuyItem())
+                || offer.getSecondBuyItem().map(TradedItem::itemStack).filter(BlacklistVillagerTrades::isBlacklisted).isPresent();
+    }
+
     /** Checks if a given item stack is blacklisted. */
     private static boolean isBlacklisted(ItemStack stack) {
         if (stack == null || stack.isEmpty()) return false;
-        var id = Registries.ITEM.getId(stack.getItem());
-        return ItemBlacklist.CONFIG.blacklist.contains(id);
+        return ItemBlacklist.isBlacklisted(stack);
     }
 }
@@ -0,0 +1,162 @@
+package net.sievert.item_blacklist;
+
+import com.mojang.serialization.Codec;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentTarget;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.decoration.ItemFrameEntity;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.vehicle.VehicleInventory;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.inventory.LootableInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Removes blacklisted stacks from block entity and entity inventories
+ * in existing worlds as they load. Each chunk and entity is stamped with
+ * the blacklist fingerprint it was scrubbed against, so it is only scanned
+ * again after the blacklist changes, and then lazily on its next load.
+ *
+ * <p>Containers that still have an unrolled loot table are skipped;
+ * their loot comes from the already filtered loot tables.
+ */
+public final class BlacklistWorldScrub {
+    /** Fingerprint of the blacklist a chunk or entity was last scrubbed against. */
+    public static final AttachmentType<Long> SCRUBBED = AttachmentRegistry.createPersistent(
+            Identifier.of(ItemBlacklist.MOD_ID, "scrubbed"), Codec.LONG);
+
+    private static long chunksScrubbed = 0L;
+    private static long entitiesScrubbed = 0L;
+    private static long stacksRemoved = 0L;
+
+    private BlacklistWorldScrub() {}
+
+    public static void init() {
+        ServerChunkEvents.CHUNK_LOAD.register(BlacklistWorldScrub::onChunkLoad);
+        ServerEntityEvents.ENTITY_LOAD.register(BlacklistWorldScrub::onEntityLoad);
+    }
+
+    /** Combined fingerprint of the global blacklist and component entries. */
+    public static long fingerprint() {
+        return BlacklistSnapshot.current().fingerprint() * 31L + BlacklistPredicates.current().fingerprint();
+    }
+
+    /** True if the target was already scrubbed against this fingerprint. */
+    private static boolean isScrubbed(AttachmentTarget target, long fingerprint) {
+        Long stamp = target.getAttached(SCRUBBED);
+        return stamp != null && stamp == fingerprint;
+    }
+
+    private static void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        BlacklistConfig config = ItemBlacklist.CONFIG;
+        if (config == null) return;
+
+        long fingerprint = fingerprint();
+        if (isScrubbed(chunk, fingerprint)) return;
+
+        BlacklistIndex index = BlacklistSnapshot.current().index();
+        BlacklistPredicates predicates = BlacklistPredicates.current();
+
+        for (BlockEntity blockEntity : chunk.getBlockEntities().values()) {
+            if (!(blockEntity instanceof Inventory inventory)) continue;
+            if (blockEntity instanceof LootableInventory lootable && lootable.getLootTable() != null) continue;
+
+            if (purgeInventory(inventory, index, predicates, config.nestedScanDepth) > 0) {
+                blockEntity.markDirty();
+            }
+        }
+
+        chunk.setAttached(SCRUBBED, fingerprint);
+        chunk.setNeedsSaving(true);
+        chunksScrubbed++;
+    }
+
+    private static void onEntityLoad(Entity entity, ServerWorld world) {
+        if (entity instanceof PlayerEntity) return;
+        BlacklistConfig config = ItemBlacklist.CONFIG;
+        if (config == null) return;
+
+        long fingerprint = fingerprint();
+        if (isScrubbed(entity, fingerprint)) return;
+
+        BlacklistIndex index = BlacklistSnapshot.current().index();
+        BlacklistPredicates predicates = BlacklistPredicates.current();
+        int depth = config.nestedScanDepth;
+
+        if (entity instanceof ItemEntity item) {
+            // An empty item entity discards itself on its next tick.
+            if (purgeStack(item.getStack(), index, predicates, depth)) item.setStack(ItemStack.EMPTY);
+        } else if (entity instanceof ItemFrameEntity frame) {
+            if (purgeStack(frame.getHeldItemStack(), index, predicates, depth)) frame.setHeldItemStack(ItemStack.EMPTY);
+        } else if (entity instanceof VehicleInventory vehicle) {
+            if (vehicle.getLootTable() == null) purgeInventory(vehicle, index, predicates, depth);
+        } else if (entity instanceof Inventory inventory) {
+            purgeInventory(inventory, index, predicates, depth);
+        }
+
+        // Structure mobs are placed during worldgen and never pass through spawnEntity.
+        if (entity instanceof MobEntity mob) BlacklistSpawnGuard.stripEquipment(mob);
+
+        if (entity instanceof LivingEntity living) {
+            for (EquipmentSlot slot : EquipmentSlot.values()) {
+                if (purgeStack(living.getEquippedStack(slot), index, predicates, depth)) {
+                    living.equipStack(slot, ItemStack.EMPTY);
+                }
+            }
+        }
+
+        entity.setAttached(SCRUBBED, fingerprint);
+        entitiesScrubbed++;
+    }
+
+    /**
+     * Clears blacklisted slots of an inventory and purges nested contents.
+     *
+     * @return number of stacks removed
+     */
+    private static int purgeInventory(Inventory inventory, BlacklistIndex index, BlacklistPredicates predicates, int depth) {
+        int removed = 0;
+        for (int i = 0; i < inventory.size(); i++) {
+            ItemStack stack = inventory.getStack(i);
+            if (stack.isEmpty()) continue;
+            if (BlacklistNested.isBlacklisted(stack, index, predicates)) {
+                inventory.setStack(i, ItemStack.EMPTY);
+                removed++;
+            } else {
+                removed += BlacklistNested.purge(stack, index, predicates, depth);
+            }
+        }
+        stacksRemoved += removed;
+        return removed;
+    }
+
+    /**
+     * Purges nested contents of a stack in place.
+     *
+     * @return true if the stack itself is blacklisted and must be cleared
+     */
+    private static boolean purgeStack(ItemStack stack, BlacklistIndex index, BlacklistPredicates predicates, int depth) {
+        if (stack.isEmpty()) return false;
+        if (BlacklistNested.isBlacklisted(stack, index, predicates)) {
+            stacksRemoved++;
+            return true;
+        }
+        stacksRemoved += BlacklistNested.purge(stack, index, predicates, depth);
+        return false;
+    }
+
+    public static long chunksScrubbed() { return chunksScrubbed; }
+    public static long entitiesScrubbed() { return entitiesScrubbed; }
+    public static long stacksRemoved() { return stacksRemoved; }
+}
@@ -0,0 +1,161 @@
+package net.sievert.item_blacklist;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.entry.RegistryEntryList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.GenerationSettings;
+import net.minecraft.world.gen.feature.ConfiguredFeature;
+import net.minecraft.world.gen.feature.Feature;
+import net.minecraft.world.gen.feature.OreFeatureConfig;
+import net.minecraft.world.gen.feature.PlacedFeature;
+import net.minecraft.world.gen.feature.RandomPatchFeatureConfig;
+import net.minecraft.world.gen.feature.SimpleBlockFeatureConfig;
+import net.minecraft.world.gen.stateprovider.SimpleBlockStateProvider;
+import net.sievert.item_blacklist.mixin.GenerationSettingsAccessor;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static net.sievert.item_blacklist.BlacklistLogger.*;
+import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
+
+/**
+ * Removes placed features that only place blacklisted blocks from biome
+ * feature lists, so chunk generation skips them entirely. A block is
+ * blacklisted when its block item is.
+ *
+ * <p>Only ore features and simple block features with a single-state
+ * provider are considered, optionally wrapped in a random patch; a feature
+ * is pruned when every block it can place is blacklisted. Pruning runs once
+ * per server start, after Fabric's biome modifications have added mod
+ * features and before any chunk is generated, so blacklist changes apply
+ * on the next world load.
+ */
+public final class BlacklistWorldgen {
+    private BlacklistWorldgen() {}
+
+    /** Prunes the server's biomes while it is starting. */
+    public static void init() {
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> prune(server.getRegistryManager()));
+    }
+
+    /**
+     * Prunes blacklisted features from every biome in the given registries.
+     * Does nothing for registry layers without biomes.
+     */
+    public static void prune(DynamicRegistryManager registries) {
+        Registry<Biome> biomes = registries.getOptional(RegistryKeys.BIOME).orElse(null);
+        if (biomes == null) return;
+
+        BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+        if (ItemBlacklist.CONFIG == null || snapshot.isEmpty()) {
+            info(WORLDGEN, "No blacklist config present. Skipping worldgen feature filter.");
+            return;
+        }
+
+        BlacklistIndex index = snapshot.index();
+        Map<PlacedFeature, Boolean> verdicts = new IdentityHashMap<>();
+        int totalRemoved = 0;
+        int biomesPatched = 0;
+
+        for (Map.Entry<RegistryKey<Biome>, Biome> entry : biomes.getEntrySet()) {
+            GenerationSettings settings = entry.getValue().getGenerationSettings();
+            List<RegistryEntryList<PlacedFeature>> steps = settings.getFeatures();
+            List<RegistryEntryList<PlacedFeature>> kept = new ArrayList<>(steps.size());
+            int removed = 0;
+
+            for (RegistryEntryList<PlacedFeature> step : steps) {
+                List<RegistryEntry<PlacedFeature>> stepKept = new ArrayList<>(step.size());
+                for (RegistryEntry<PlacedFeature> feature : step) {
+                    if (verdicts.computeIfAbsent(feature.value(), placed -> isBlacklisted(placed, index))) {
+                        removed++;
+                    } else {
+                        stepKept.add(feature);
+                    }
+                }
+                kept.add(stepKept.size() == step.size() ? step : RegistryEntryList.of(stepKept));
+            }
+
+            if (removed == 0) continue;
+            replaceFeatures(settings, List.copyOf(kept));
+            biomesPatched++;
+            totalRemoved += removed;
+            info(WORLDGEN, "Pruned " + removed + " " + pluralize(removed, "feature", "features") +
+                    " from biome " + entry.getKey().getValue());
+        }
+
+        if (totalRemoved > 0) {
+            info(WORLDGEN, "Worldgen blacklist: pruned " + totalRemoved + " " +
+                    pluralize(totalRemoved, "feature", "features") + " across " + biomesPatched + " " +
+                    pluralize(biomesPatched, "biome", "biomes"));
+        } else {
+            info(WORLDGEN, "No blacklisted worldgen features found.");
+        }
+    }
+
+    /**
+     * Swaps a biome's feature lists and resets the memoized views
+     * derived from them, mirroring the vanilla constructor.
+     */
+    private static void replaceFeatures(GenerationSettings settings, List<RegistryEntryList<PlacedFeature>> features) {
+        GenerationSettingsAccessor accessor = (GenerationSettingsAccessor) settings;
+        accessor.setFeatures(features);
+        accessor.setFlowerFeatures(Suppliers.memoize(() -> features.stream()
+                .flatMap(RegistryEntryList::stream)
+                .map(RegistryEntry::value)
+                .flatMap(PlacedFeature::getDecoratedFeatures)
+                .filter(feature -> feature.feature() == Feature.FLOWER)
+                .collect(ImmutableList.toImmutableList())));
+        accessor.setAllowedFeatures(Suppliers.memoize(() -> features.stream()
+                .flatMap(RegistryEntryList::stream)
+                .map(RegistryEntry::value)
+                .collect(Collectors.toSet())));
+    }
+
+    /**
+     * True if every block the feature can place is blacklisted.
+     * Features of any other kind are never pruned.
+     */
+    private static boolean isBlacklisted(PlacedFeature placed, BlacklistIndex index) {
+        boolean placesBlocks = false;
+        Iterator<ConfiguredFeature<?, ?>> features = placed.getDecoratedFeatures().iterator();
+        while (features.hasNext()) {
+            ConfiguredFeature<?, ?> feature = features.next();
+            if (feature.config() instanceof OreFeatureConfig ore) {
+                for (OreFeatureConfig.Target target : ore.targets) {
+                    if (!isBlacklisted(target.state, index)) return false;
+                }
+                placesBlocks = true;
+            } else if (feature.config() instanceof SimpleBlockFeatureConfig simple
+                    && simple.toPlace() instanceof SimpleBlockStateProvider provider) {
+                // A single-state provider ignores its arguments.
+                if (!isBlacklisted(provider.get(Random.create(0L), BlockPos.ORIGIN), index)) return false;
+                placesBlocks = true;
+            } else if (!(feature.config() instanceof RandomPatchFeatureConfig)) {
+                return false;
+            }
+        }
+        return placesBlocks;
+    }
+
+    private static boolean isBlacklisted(BlockState state, BlacklistIndex index) {
+        Item item = state.getBlock().asItem();
+        return item != Items.AIR && index.contains(item);
+    }
+}
@@ -0,0 +1,17 @@
+package net.sievert.item_blacklist;
+
+/**
+ * Duck interface implemented on {@link net.minecraft.component.ComponentMapImpl}
+ * by {@code ComponentMapImplMixin}. Holds the last component predicate verdict
+ * for the map; any change to the map clears it.
+ */
+public interface ComponentVerdictCache {
+    /**
+     * Returns the cached verdict: predicate generation in the high bits,
+     * verdict in the lowest bit, or 0 if nothing is cached.
+     */
+    long item_blacklist$getVerdict();
+
+    /** Stores a verdict in the format of {@link #item_blacklist$getVerdict()}. */
+    void item_blacklist$setVerdict(long verdict);
+}
@@ -0,0 +1,20 @@
+package net.sievert.item_blacklist;
+
+/**
+ * Duck interface implemented on {@link net.minecraft.entity.player.PlayerInventory}
+ * by {@code PlayerInventoryMixin}. Tracks which slots changed since the
+ * inventory was last checked against the blacklist.
+ *
+ * <p>Bit {@code i} marks slot {@code i}; bit 63 stands for slot 63 and
+ * every slot after it.
+ */
+public interface InventoryDirtyTracker {
+    /** Marks a single slot for re-checking. */
+    void item_blacklist$markSlotDirty(int slot);
+
+    /** Marks every slot for re-checking. */
+    void item_blacklist$markAllDirty();
+
+    /** Returns the dirty slot mask and clears it. */
+    long item_blacklist$takeDirty();
+}
@@ -1,10 +1,13 @@
 package net.sievert.item_blacklist;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.registry.RegistryIdRemapCallback;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.object.builder.v1.trade.TradeOfferHelper;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
 import net.minecraft.village.TradeOffer;
 import net.minecraft.village.TradedItem;
 import net.minecraft.village.VillagerProfession;
@@ -22,7 +25,7 @@ import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
  */
 public class ItemBlacklist implements ModInitializer {
 	public static final String MOD_ID = "item_blacklist";
-	public static BlacklistConfig CONFIG;
+	public static volatile BlacklistConfig CONFIG;
 
 	public static int vanillaValidated = 0;
 	public static int moddedValidated = 0;
@@ -38,11 +41,53 @@ public class ItemBlacklist implements ModInitializer {
 
 		vanillaValidated = vanillaValid.size();
 		totalInvalid = vanillaInvalid;
-		CONFIG.blacklist = new HashSet<>(vanillaValid);
+		BlacklistSnapshot.publish(BlacklistSnapshot.build(vanillaValid));
+
+		RegistryIdRemapCallback.event(Registries.ITEM).register(state -> {
+			BlacklistIndex.bumpRawIdEpoch();
+			BlacklistSnapshot.publish(BlacklistSnapshot.current().recompile());
+			BlacklistScopes.publish(BlacklistScopes.current().recompile());
+		});
 
 		BlacklistVillagerTrades.init();
+		BlacklistConfigWatcher.init();
+		BlacklistLootTables.init();
+		BlacklistScopes.init();
+		BlacklistPurgeScheduler.init();
+		BlacklistCommands.init();
+		BlacklistWorldScrub.init();
+		BlacklistMerchants.init();
+		BlacklistOfflineScrubber.init();
+		BlacklistBlockRemap.init();
+		BlacklistWorldgen.init();
+		BlacklistSync.init();
+
+		ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+			// Recompile with dynamic registries so enchantment and similar values normalize.
+			BlacklistConfig config = CONFIG;
+			if (config != null) {
+				BlacklistPredicates.publish(BlacklistPredicates.compile(config.rawBlacklist, server.getRegistryManager()));
+			}
+			flush();
+		});
 
-		ServerLifecycleEvents.SERVER_STARTED.register(server -> flush());
+	}
+
+	/**
+	 * Checks whether an item is blacklisted.
+	 * Single bitset read against the current snapshot; never allocates.
+	 */
+	public static boolean isBlacklisted(Item item) {
+		return BlacklistSnapshot.current().contains(item);
+	}
 
+	/**
+	 * Checks whether a stack is blacklisted, either by its item
+	 * or by a component predicate entry for that item.
+	 */
+	public static boolean isBlacklisted(ItemStack stack) {
+		if (stack.isEmpty()) return false;
+		if (BlacklistSnapshot.current().contains(stack.getItem())) return true;
+		return BlacklistPredicates.current().test(stack);
 	}
 }
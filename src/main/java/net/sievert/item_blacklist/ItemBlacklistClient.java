@@ -0,0 +1,25 @@
+package net.sievert.item_blacklist;
+
+import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+
+/**
+ * Client initializer for Item Blacklist.
+ * Applies the blacklist sent by the server while connected
+ * and filters creative tabs and item models.
+ */
+public class ItemBlacklistClient implements ClientModInitializer {
+	@Override
+	public void onInitializeClient() {
+		BlacklistCreativeTabs.init();
+		BlacklistModels.init();
+
+		ClientPlayNetworking.registerGlobalReceiver(BlacklistSync.ID, (payload, context) -> {
+			// The integrated server publishes into the same snapshot.
+			if (context.client().isIntegratedServerRunning()) return;
+			BlacklistSync.applyRemote(payload);
+		});
+		ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(BlacklistSync::restoreLocal));
+	}
+}
@@ -0,0 +1,13 @@
+package net.sievert.item_blacklist;
+
+/**
+ * Duck interface implemented on {@link net.minecraft.item.Item}
+ * by {@code ItemMixin}. Caches the item's raw registry id so
+ * blacklist lookups never go through the registry's hash map.
+ */
+public interface ItemRawIdHolder {
+    /**
+     * Returns the cached raw id of this item, or -1 if unregistered.
+     */
+    int item_blacklist$getRawId();
+}
@@ -0,0 +1,15 @@
+package net.sievert.item_blacklist;
+
+/**
+ * Duck interface implemented on {@link net.minecraft.component.type.ContainerComponent}
+ * and {@link net.minecraft.component.type.BundleContentsComponent} by
+ * {@code NestedComponentMixin}. Both components are immutable, so a verdict
+ * stored on an instance stays valid until the stack gets a new instance.
+ */
+public interface NestedVerdictHolder {
+    /** Returns the last verdict stored on this component, or null. */
+    BlacklistNested.Verdict item_blacklist$getNestedVerdict();
+
+    /** Stores a verdict on this component. */
+    void item_blacklist$setNestedVerdict(BlacklistNested.Verdict verdict);
+}
@@ -0,0 +1,17 @@
+package net.sievert.item_blacklist;
+
+/**
+ * Duck interface implemented on {@link net.minecraft.server.network.ServerPlayerEntity}
+ * by {@code ServerPlayerEntityMixin}. Caches the player's effective blacklist index
+ * from {@link BlacklistScopes}.
+ */
+public interface ScopedBlacklistHolder {
+    /**
+     * Returns the player's effective index, resolving it only if it was
+     * invalidated or the blacklist or scopes were republished.
+     */
+    BlacklistIndex item_blacklist$getScopedIndex();
+
+    /** Forces the effective index to be resolved again on next use. */
+    void item_blacklist$invalidateScope();
+}
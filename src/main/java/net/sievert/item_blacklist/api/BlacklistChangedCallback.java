@@ -0,0 +1,32 @@
+package net.sievert.item_blacklist.api;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+
+/**
+ * Fired whenever a new blacklist is published, e.g. after registries
+ * freeze, tag entries are re-expanded, or the config is hot reloaded.
+ * Listeners receive item raw ids, so they can update their own caches
+ * incrementally instead of polling.
+ *
+ * <p>Runs on the thread that published the blacklist; listeners that touch
+ * game state should hand work to the server thread. After item raw ids are
+ * remapped (e.g. by registry sync), {@code removed} holds every previously
+ * blacklisted raw id and {@code added} every current one.
+ */
+@FunctionalInterface
+public interface BlacklistChangedCallback {
+    Event<BlacklistChangedCallback> EVENT = EventFactory.createArrayBacked(BlacklistChangedCallback.class,
+            listeners -> (version, added, removed) -> {
+                for (BlacklistChangedCallback listener : listeners) {
+                    listener.onChanged(version, added, removed);
+                }
+            });
+
+    /**
+     * @param version version of the newly published blacklist, see {@link ItemBlacklistApi#version()}
+     * @param added raw ids that became blacklisted, ascending; do not modify
+     * @param removed raw ids that are no longer blacklisted, ascending; do not modify
+     */
+    void onChanged(long version, int[] added, int[] removed);
+}
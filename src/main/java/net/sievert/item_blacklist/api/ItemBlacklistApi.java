@@ -0,0 +1,58 @@
+package net.sievert.item_blacklist.api;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.sievert.item_blacklist.BlacklistSnapshot;
+import net.sievert.item_blacklist.ItemBlacklist;
+
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Stable entry point for other mods. Every check reads the currently
+ * published blacklist and is safe to call from any thread. Item and raw id
+ * checks do not allocate; stack checks may allocate when a component entry
+ * has to be evaluated for a stack the first time. Listen to {@link BlacklistChangedCallback#EVENT} to
+ * keep derived caches up to date.
+ */
+public final class ItemBlacklistApi {
+    private ItemBlacklistApi() {}
+
+    /** Checks whether an item is blacklisted. */
+    public static boolean isBlacklisted(Item item) {
+        return ItemBlacklist.isBlacklisted(item);
+    }
+
+    /**
+     * Checks whether a stack is blacklisted, either by its item
+     * or by a component entry matching its components.
+     */
+    public static boolean isBlacklisted(ItemStack stack) {
+        return ItemBlacklist.isBlacklisted(stack);
+    }
+
+    /** Checks whether an item raw id is blacklisted. */
+    public static boolean isBlacklisted(int rawId) {
+        return BlacklistSnapshot.current().index().containsRawId(rawId);
+    }
+
+    /** Calls the consumer with every blacklisted item raw id, in ascending order. */
+    public static void forEachBlacklistedRawId(IntConsumer consumer) {
+        BlacklistSnapshot.current().index().forEachRawId(consumer);
+    }
+
+    /** Iterates every blacklisted item raw id of the current blacklist, in ascending order. */
+    public static PrimitiveIterator.OfInt blacklistedRawIds() {
+        return BlacklistSnapshot.current().index().rawIdIterator();
+    }
+
+    /** Number of blacklisted items. */
+    public static int size() {
+        return BlacklistSnapshot.current().size();
+    }
+
+    /** Version of the current blacklist; increases every time it changes. */
+    public static long version() {
+        return BlacklistSnapshot.current().version();
+    }
+}
@@ -0,0 +1,55 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.minecraft.component.ComponentMapImpl;
+import net.sievert.item_blacklist.ComponentVerdictCache;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Mixin for {@link ComponentMapImpl}.
+ * Caches the component predicate verdict on each stack's
+ * component map and clears it whenever the map is modified.
+ */
+@Mixin(ComponentMapImpl.class)
+public abstract class ComponentMapImplMixin implements ComponentVerdictCache {
+    @Unique
+    private long item_blacklist$verdict = 0L;
+
+    @Override
+    public long item_blacklist$getVerdict() {
+        return this.item_blacklist$verdict;
+    }
+
+    @Override
+    public void item_blacklist$setVerdict(long verdict) {
+        this.item_blacklist$verdict = verdict;
+    }
+
+    /**
+     * Clears the cached verdict when a single component is set.
+     */
+    @Inject(method = "set", at = @At("HEAD"))
+    private void item_blacklist$onSet(CallbackInfoReturnable<?> cir) {
+        this.item_blacklist$verdict = 0L;
+    }
+
+    /**
+     * Clears the cached verdict when a single component is removed.
+     */
+    @Inject(method = "remove", at = @At("HEAD"))
+    private void item_blacklist$onRemove(CallbackInfoReturnable<?> cir) {
+        this.item_blacklist$verdict = 0L;
+    }
+
+    /**
+     * Clears the cached verdict when changes are applied.
+     */
+    @Inject(method = {"applyChanges", "setChanges", "setAll"}, at = @At("HEAD"))
+    private void item_blacklist$onBulkChange(CallbackInfo ci) {
+        this.item_blacklist$verdict = 0L;
+    }
+}
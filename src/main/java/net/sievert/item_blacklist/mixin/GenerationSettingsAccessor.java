@@ -0,0 +1,42 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.minecraft.registry.entry.RegistryEntryList;
+import net.minecraft.world.biome.GenerationSettings;
+import net.minecraft.world.gen.feature.ConfiguredFeature;
+import net.minecraft.world.gen.feature.PlacedFeature;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Mutable;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Accessor mixin for {@link GenerationSettings}.
+ * Exposes the final feature fields so blacklist code
+ * can replace a biome's feature lists.
+ */
+@Mixin(GenerationSettings.class)
+public interface GenerationSettingsAccessor {
+    /**
+     * Mutator for the 'features' field.
+     */
+    @Mutable
+    @Accessor("features")
+    void setFeatures(List<RegistryEntryList<PlacedFeature>> features);
+
+    /**
+     * Mutator for the memoized 'flowerFeatures' field.
+     */
+    @Mutable
+    @Accessor("flowerFeatures")
+    void setFlowerFeatures(Supplier<List<ConfiguredFeature<?, ?>>> flowerFeatures);
+
+    /**
+     * Mutator for the memoized 'allowedFeatures' field.
+     */
+    @Mutable
+    @Accessor("allowedFeatures")
+    void setAllowedFeatures(Supplier<Set<PlacedFeature>> allowedFeatures);
+}
@@ -0,0 +1,37 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.minecraft.block.entity.HopperBlockEntity;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.Direction;
+import net.sievert.item_blacklist.BlacklistTransfers;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Mixin for {@link HopperBlockEntity}.
+ * Voids or refuses blacklisted stacks at the shared transfer point
+ * used for hopper insertion, extraction and item entity pickup.
+ */
+@Mixin(HopperBlockEntity.class)
+public abstract class HopperBlockEntityMixin {
+
+    /**
+     * Injects before a stack is moved into the target inventory.
+     * Returning an empty stack reports it fully transferred (voided);
+     * returning it unchanged reports nothing transferred (refused).
+     */
+    @Inject(
+            method = "transfer(Lnet/minecraft/inventory/Inventory;Lnet/minecraft/inventory/Inventory;Lnet/minecraft/item/ItemStack;Lnet/minecraft/util/math/Direction;)Lnet/minecraft/item/ItemStack;",
+            at = @At("HEAD"),
+            cancellable = true
+    )
+    private static void item_blacklist$guardTransfer(Inventory from, Inventory to, ItemStack stack, Direction side,
+                                                    CallbackInfoReturnable<ItemStack> cir) {
+        if (BlacklistTransfers.isBlacklisted(stack)) {
+            cir.setReturnValue(BlacklistTransfers.shouldVoid() ? ItemStack.EMPTY : stack);
+        }
+    }
+}
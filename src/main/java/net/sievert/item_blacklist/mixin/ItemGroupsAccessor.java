@@ -0,0 +1,22 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.minecraft.item.ItemGroup;
+import net.minecraft.item.ItemGroups;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Accessor mixin for {@link ItemGroups}.
+ * Exposes the cached display context so blacklist code
+ * can force creative tabs to be rebuilt.
+ */
+@Mixin(ItemGroups.class)
+public interface ItemGroupsAccessor {
+    /**
+     * Mutator for the static 'displayContext' field.
+     */
+    @Accessor("displayContext")
+    static void setDisplayContext(ItemGroup.DisplayContext displayContext) {
+        throw new AssertionError();
+    }
+}
@@ -0,0 +1,37 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.sievert.item_blacklist.BlacklistIndex;
+import net.sievert.item_blacklist.ItemRawIdHolder;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+/**
+ * Mixin for {@link Item}.
+ * Caches the raw registry id on each item so blacklist
+ * lookups are a plain field read.
+ */
+@Mixin(Item.class)
+public abstract class ItemMixin implements ItemRawIdHolder {
+    /** Raw id in the low 32 bits, raw id epoch + 1 in the high 32 bits (0 = unresolved). */
+    @Unique
+    private volatile long item_blacklist$packedRawId = 0L;
+
+    /**
+     * Returns the cached raw id, resolving it once per raw id epoch.
+     * Epoch and id share one volatile field, whose 64-bit writes are atomic,
+     * so concurrent readers never see a torn pair.
+     */
+    @Override
+    public int item_blacklist$getRawId() {
+        long packed = this.item_blacklist$packedRawId;
+        int epoch = BlacklistIndex.rawIdEpoch() + 1;
+        if ((int)(packed >>> 32) != epoch) {
+            int rawId = Registries.ITEM.getRawId((Item)(Object)this);
+            packed = ((long) epoch << 32) | (rawId & 0xFFFFFFFFL);
+            this.item_blacklist$packedRawId = packed;
+        }
+        return (int) packed;
+    }
+}
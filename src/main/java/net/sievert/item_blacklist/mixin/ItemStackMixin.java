@@ -5,10 +5,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.item.Item;
 import net.minecraft.item.tooltip.TooltipType;
 import net.minecraft.text.Text;
-import net.minecraft.util.Formatting;
-import net.minecraft.util.Identifier;
-import net.minecraft.registry.Registries;
-import net.sievert.item_blacklist.ItemBlacklist;
+import net.sievert.item_blacklist.BlacklistTooltips;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -19,7 +16,8 @@ import java.util.List;
 /**
  * Mixin for {@link ItemStack}.
  * Injects into tooltip building to display a warning
- * if the item is blacklisted.
+ * if the item is blacklisted, using the cached verdicts
+ * of {@link BlacklistTooltips}.
  */
 @Mixin(ItemStack.class)
 public class ItemStackMixin {
@@ -41,14 +39,10 @@ public class ItemStackMixin {
     ) {
         ItemStack stack = (ItemStack)(Object)this;
 
-        if (ItemBlacklist.CONFIG == null) return;
-
-        Identifier id = Registries.ITEM.getId(stack.getItem());
-        if (ItemBlacklist.CONFIG.blacklist.contains(id)) {
+        if (BlacklistTooltips.isBlacklisted(stack)) {
             List<Text> original = cir.getReturnValue();
             Text name = original.isEmpty() ? stack.getName() : original.getFirst();
-            Text warning = Text.translatable("item.blacklist.disabled").formatted(Formatting.RED);
-            cir.setReturnValue(List.of(name, warning));
+            cir.setReturnValue(List.of(name, BlacklistTooltips.warning()));
         }
     }
 }
@@ -0,0 +1,20 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.minecraft.entity.passive.MerchantEntity;
+import net.minecraft.village.TradeOfferList;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Accessor mixin for {@link MerchantEntity}.
+ * Exposes the 'offers' field without {@code getOffers()}
+ * generating offers for merchants that have none yet.
+ */
+@Mixin(MerchantEntity.class)
+public interface MerchantEntityAccessor {
+    /**
+     * Accessor for the 'offers' field; null until offers are generated.
+     */
+    @Accessor("offers")
+    TradeOfferList getStoredOffers();
+}
@@ -0,0 +1,28 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.minecraft.component.type.BundleContentsComponent;
+import net.minecraft.component.type.ContainerComponent;
+import net.sievert.item_blacklist.BlacklistNested;
+import net.sievert.item_blacklist.NestedVerdictHolder;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+/**
+ * Mixin for {@link ContainerComponent} and {@link BundleContentsComponent}.
+ * Memoizes whether the contents hold blacklisted items.
+ */
+@Mixin({ContainerComponent.class, BundleContentsComponent.class})
+public abstract class NestedComponentMixin implements NestedVerdictHolder {
+    @Unique
+    private BlacklistNested.Verdict item_blacklist$nestedVerdict;
+
+    @Override
+    public BlacklistNested.Verdict item_blacklist$getNestedVerdict() {
+        return this.item_blacklist$nestedVerdict;
+    }
+
+    @Override
+    public void item_blacklist$setNestedVerdict(BlacklistNested.Verdict verdict) {
+        this.item_blacklist$nestedVerdict = verdict;
+    }
+}
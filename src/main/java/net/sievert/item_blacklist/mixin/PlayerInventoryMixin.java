@@ -0,0 +1,67 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import net.sievert.item_blacklist.InventoryDirtyTracker;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Mixin for {@link PlayerInventory}.
+ * Records which slots changed so the inventory purge
+ * only re-checks those instead of every slot every tick.
+ */
+@Mixin(PlayerInventory.class)
+public abstract class PlayerInventoryMixin implements InventoryDirtyTracker {
+    /** A freshly loaded inventory is swept by the purge scheduler instead. */
+    @Unique
+    private long item_blacklist$dirty = 0L;
+
+    @Override
+    public void item_blacklist$markSlotDirty(int slot) {
+        if (slot < 0) return;
+        item_blacklist$dirty |= 1L << Math.min(slot, 63);
+    }
+
+    @Override
+    public void item_blacklist$markAllDirty() {
+        item_blacklist$dirty = -1L;
+    }
+
+    @Override
+    public long item_blacklist$takeDirty() {
+        long dirty = item_blacklist$dirty;
+        item_blacklist$dirty = 0L;
+        return dirty;
+    }
+
+    /**
+     * Marks a slot dirty when it is replaced. Covers screen
+     * handler slot updates, crafting output and most pickups.
+     */
+    @Inject(
+            method = "setStack",
+            at = @At("HEAD")
+    )
+    private void item_blacklist$onSetStack(int slot, ItemStack stack, CallbackInfo ci) {
+        item_blacklist$markSlotDirty(slot);
+    }
+
+    /**
+     * Marks every slot dirty after a direct insertion, which
+     * may write to the backing lists without calling setStack.
+     */
+    @Inject(
+            method = "insertStack(ILnet/minecraft/item/ItemStack;)Z",
+            at = @At("RETURN")
+    )
+    private void item_blacklist$onInsertStack(int slot, ItemStack stack, CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValueZ()) {
+            item_blacklist$markAllDirty();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.minecraft.server.PlayerManager;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.sievert.item_blacklist.ScopedBlacklistHolder;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin for {@link PlayerManager}.
+ * Re-resolves a player's scoped blacklist when their
+ * permission level changes (op, deop, join).
+ */
+@Mixin(PlayerManager.class)
+public abstract class PlayerManagerMixin {
+
+    /**
+     * Injects where the command tree is resent after a
+     * permission level change.
+     */
+    @Inject(
+            method = "sendCommandTree(Lnet/minecraft/server/network/ServerPlayerEntity;I)V",
+            at = @At("HEAD")
+    )
+    private void item_blacklist$onPermissionChange(ServerPlayerEntity player, int permissionLevel, CallbackInfo ci) {
+        ((ScopedBlacklistHolder) player).item_blacklist$invalidateScope();
+    }
+}
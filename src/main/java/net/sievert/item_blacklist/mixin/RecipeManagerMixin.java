@@ -1,12 +1,13 @@
 package net.sievert.item_blacklist.mixin;
 
 import com.google.gson.JsonElement;
-import com.google.gson.JsonPrimitive;
 import net.minecraft.recipe.RecipeManager;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.profiler.Profiler;
 import net.sievert.item_blacklist.BlacklistConfig;
+import net.sievert.item_blacklist.BlacklistIdMatcher;
+import net.sievert.item_blacklist.BlacklistSnapshot;
 import net.sievert.item_blacklist.ItemBlacklist;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
@@ -14,9 +15,10 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.stream.Stream;
 
 import static net.sievert.item_blacklist.BlacklistLogger.*;
 import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
@@ -28,6 +30,9 @@ import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
  */
 @Mixin(RecipeManager.class)
 public abstract class RecipeManagerMixin {
+    /** Below this many recipes, splitting the scan costs more than it saves. */
+    @Unique
+    private static final int item_blacklist$PARALLEL_THRESHOLD = 512;
 
     /**
      * Injects at head of RecipeManager.apply, before vanilla parses JSON,
@@ -44,25 +49,30 @@ public abstract class RecipeManagerMixin {
             CallbackInfo ci
     ) {
         BlacklistConfig config = ItemBlacklist.CONFIG;
-        if (config == null || config.blacklist.isEmpty()) {
+        BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+        if (config == null || snapshot.isEmpty()) {
             info(RECIPE, "No blacklist config present. Skipping recipe filter.");
             return;
         }
 
-        Set<Identifier> blacklist = config.blacklist;
+        BlacklistIdMatcher blacklist = snapshot.idMatcher();
         int before = map.size();
 
-        Iterator<Map.Entry<Identifier, JsonElement>> it = map.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<Identifier, JsonElement> entry = it.next();
-            Identifier recipeId = entry.getKey();
-            JsonElement json = entry.getValue();
+        // Recipes are checked independently against the immutable snapshot,
+        // so the scan runs in parallel; the ids come back in map order.
+        List<Map.Entry<Identifier, JsonElement>> entries = new ArrayList<>(map.entrySet());
+        Stream<Map.Entry<Identifier, JsonElement>> stream = entries.size() >= item_blacklist$PARALLEL_THRESHOLD
+                ? entries.parallelStream()
+                : entries.stream();
+        List<Identifier> blacklisted = stream
+                .filter(entry -> blacklist.matchesAny(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
 
-            if (containsBlacklistedId(json, blacklist)) {
-                it.remove();
-                if (config.detailedRecipeLog) {
-                    info(RECIPE, "Recipe " + recipeId + " removed");
-                }
+        for (Identifier recipeId : blacklisted) {
+            map.remove(recipeId);
+            if (config.detailedRecipeLog) {
+                info(RECIPE, "Recipe " + recipeId + " removed");
             }
         }
 
@@ -76,32 +86,4 @@ public abstract class RecipeManagerMixin {
             info(RECIPE, "No blacklisted recipes found.");
         }
     }
-
-    /**
-     * Walks JSON tree looking for string identifiers that match blacklist.
-     */
-    @Unique
-    private static boolean containsBlacklistedId(JsonElement json, Set<Identifier> blacklist) {
-        if (json == null) return false;
-
-        if (json.isJsonPrimitive()) {
-            JsonPrimitive prim = json.getAsJsonPrimitive();
-            if (prim.isString()) {
-                try {
-                    Identifier id = Identifier.of(prim.getAsString());
-                    return blacklist.contains(id);
-                } catch (Exception ignored) {}
-            }
-        } else if (json.isJsonObject()) {
-            for (var e : json.getAsJsonObject().entrySet()) {
-                if (containsBlacklistedId(e.getValue(), blacklist)) return true;
-            }
-        } else if (json.isJsonArray()) {
-            for (JsonElement el : json.getAsJsonArray()) {
-                if (containsBlacklistedId(el, blacklist)) return true;
-            }
-        }
-
-        return false;
-    }
 }
@@ -1,6 +1,9 @@
 package net.sievert.item_blacklist.mixin;
 
 import net.minecraft.registry.Registries;
+import net.sievert.item_blacklist.BlacklistPredicates;
+import net.sievert.item_blacklist.BlacklistScopes;
+import net.sievert.item_blacklist.BlacklistSnapshot;
 import net.sievert.item_blacklist.BlacklistValidator;
 import net.sievert.item_blacklist.ItemBlacklist;
 
@@ -46,7 +49,21 @@ public abstract class RegistriesMixin {
         );
 
         ItemBlacklist.moddedValidated = modded.size();
-        config.blacklist.addAll(modded);
+
+        var patterned = config.patterns.expandRegistry();
+
+        var previous = BlacklistSnapshot.current();
+        var merged = new HashSet<>(previous.baseIds());
+        merged.addAll(modded);
+        merged.addAll(patterned);
+        var snapshot = BlacklistSnapshot.build(merged, previous.tagIds());
+        BlacklistSnapshot.publish(snapshot);
+
+        var predicates = BlacklistPredicates.compile(config.rawBlacklist, null);
+        BlacklistPredicates.publish(predicates);
+
+        var scopes = BlacklistScopes.compile(config.scopes);
+        BlacklistScopes.publish(scopes);
 
         ItemBlacklist.totalInvalid += counter.count;
 
@@ -54,7 +71,10 @@ public abstract class RegistriesMixin {
                 "Blacklist entry validation summary: " +
                         ItemBlacklist.vanillaValidated + " " + pluralize(ItemBlacklist.vanillaValidated, "vanilla entry", "vanilla entries") + ", " +
                         ItemBlacklist.moddedValidated + " " + pluralize(ItemBlacklist.moddedValidated, "modded entry", "modded entries") + ", " +
-                        config.blacklist.size() + " " + pluralize(config.blacklist.size(), "valid entry", "valid entries") + " total, " +
+                        patterned.size() + " " + pluralize(patterned.size(), "pattern match", "pattern matches") + ", " +
+                        predicates.size() + " " + pluralize(predicates.size(), "component predicate", "component predicates") + ", " +
+                        scopes.size() + " " + pluralize(scopes.size(), "scope", "scopes") + ", " +
+                        snapshot.size() + " " + pluralize(snapshot.size(), "valid entry", "valid entries") + " total, " +
                         ItemBlacklist.totalInvalid + " " + pluralize(ItemBlacklist.totalInvalid, "invalid entry", "invalid entries")
         );
     }
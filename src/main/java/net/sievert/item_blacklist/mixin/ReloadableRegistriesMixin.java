@@ -1,25 +1,21 @@
 package net.sievert.item_blacklist.mixin;
 
-import net.minecraft.loot.LootPool;
 import net.minecraft.loot.LootTable;
-import net.minecraft.loot.entry.*;
 import net.minecraft.registry.*;
 import net.minecraft.util.Identifier;
 import net.sievert.item_blacklist.ItemBlacklist;
 import net.sievert.item_blacklist.BlacklistConfig;
+import net.sievert.item_blacklist.BlacklistLootTables;
+import net.sievert.item_blacklist.BlacklistSnapshot;
 
 import static net.sievert.item_blacklist.BlacklistLogger.*;
 import static net.sievert.item_blacklist.BlacklistLogger.Group.*;
 
-import net.minecraft.item.Item;
-import net.minecraft.registry.entry.RegistryEntry;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -47,7 +43,8 @@ public class ReloadableRegistriesMixin {
             CallbackInfoReturnable<CombinedDynamicRegistries<ServerDynamicRegistryType>> cir) {
 
         BlacklistConfig config = ItemBlacklist.CONFIG;
-        if (config == null || config.blacklist.isEmpty()) {
+        BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+        if (config == null || snapshot.isEmpty()) {
             info(LOOT, "No blacklist config present. Skipping loot table filter.");
             return;
         }
@@ -65,33 +62,9 @@ public class ReloadableRegistriesMixin {
                     LootTable table = lootRegistry.get(tableId);
                     if (table == null) continue;
 
-                    List<LootPool> originalPools = ((LootTableAccessor) table).getPools();
-                    List<LootPool> rebuiltPools = new ArrayList<>();
-
-                    int tableRemoved = 0;
-
-                    for (LootPool pool : originalPools) {
-                        LootPool.Builder rebuilt = LootPool.builder()
-                                .rolls(pool.rolls)
-                                .bonusRolls(pool.bonusRolls);
-
-                        pool.conditions.forEach(rebuilt::conditionally);
-                        pool.functions.forEach(rebuilt::apply);
-
-                        for (LootPoolEntry entry : ((LootPoolAccessor) pool).getEntries()) {
-                            LootPoolEntry patched = patchEntry(entry, config, tableId);
-                            if (patched != null) {
-                                tableRemoved++;
-                                rebuilt.with(patched);
-                            } else {
-                                rebuilt.with(entry);
-                            }
-                        }
-                        rebuiltPools.add(rebuilt.build());
-                    }
+                    int tableRemoved = BlacklistLootTables.patchTable(table, config, snapshot, tableId);
 
                     if (tableRemoved > 0) {
-                        ((LootTableAccessor) table).setPools(rebuiltPools);
                         totalTablesPatched++;
                         totalEntriesRemoved += tableRemoved;
                     }
@@ -99,6 +72,8 @@ public class ReloadableRegistriesMixin {
             }
         }
 
+        BlacklistLootTables.markPatched(snapshot);
+
         if (totalEntriesRemoved > 0) {
             info(LOOT, "Loot blacklist: removed " +
                     totalEntriesRemoved + " " + pluralize(totalEntriesRemoved, "entry", "entries") +
@@ -107,60 +82,4 @@ public class ReloadableRegistriesMixin {
             info(LOOT, "No blacklisted loot entries found.");
         }
     }
-
-    /**
-     * Recursively patches a loot pool entry, replacing
-     * blacklisted item entries or rebuilding combined entries.
-     * Now takes tableId for detailed log context.
-     */
-    @Unique
-    private static LootPoolEntry patchEntry(LootPoolEntry entry, BlacklistConfig config, Identifier tableId) {
-        if (entry instanceof ItemEntry itemEntry) {
-            Identifier id = getEntryId(itemEntry);
-            if (id != null && config.blacklist.contains(id)) {
-                if (config.detailedLootTableLog) {
-                    info(LOOT, "Entry " + id + " removed from " + tableId);
-                }
-                return EmptyEntry.builder().build();
-            }
-            return null;
-        }
-
-        if (entry instanceof CombinedEntry) {
-            boolean patched = false;
-            List<LootPoolEntry> newChildren = new ArrayList<>();
-            for (LootPoolEntry child : ((CombinedEntryAccessor) entry).getChildren()) {
-                LootPoolEntry patchedChild = patchEntry(child, config, tableId);
-                if (patchedChild != null) {
-                    patched = true;
-                    newChildren.add(patchedChild);
-                } else {
-                    newChildren.add(child);
-                }
-            }
-            if (patched && entry instanceof AlternativeEntry) {
-                return AlternativeEntryInvoker.invokeInit(
-                        newChildren,
-                        ((LootPoolEntryAccessor) entry).getConditions()
-                );
-            }
-            return patched ? entry : null;
-        }
-
-        return null;
-    }
-
-    /**
-     * Resolves the {@link Identifier} of an item loot entry.
-     */
-    @Unique
-    private static Identifier getEntryId(LootPoolEntry entry) {
-        if (entry instanceof ItemEntry itemEntry) {
-            RegistryEntry<Item> regEntry = ((ItemEntryAccessor) itemEntry).getItemEntry();
-            if (regEntry != null) {
-                return Registries.ITEM.getId(regEntry.value());
-            }
-        }
-        return null;
-    }
 }
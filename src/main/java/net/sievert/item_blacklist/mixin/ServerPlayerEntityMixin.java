@@ -1,40 +1,141 @@
 package net.sievert.item_blacklist.mixin;
 
-import net.minecraft.item.ItemStack;
-import net.minecraft.registry.Registries;
+import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.text.Text;
-import net.minecraft.util.Formatting;
+import net.minecraft.world.GameMode;
+import net.sievert.item_blacklist.BlacklistConfig;
+import net.sievert.item_blacklist.BlacklistIndex;
+import net.sievert.item_blacklist.BlacklistPredicates;
+import net.sievert.item_blacklist.BlacklistPurgeScheduler;
+import net.sievert.item_blacklist.BlacklistScopes;
+import net.sievert.item_blacklist.BlacklistSnapshot;
+import net.sievert.item_blacklist.InventoryDirtyTracker;
 import net.sievert.item_blacklist.ItemBlacklist;
+import net.sievert.item_blacklist.ScopedBlacklistHolder;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(ServerPlayerEntity.class)
-public abstract class ServerPlayerEntityMixin {
+public abstract class ServerPlayerEntityMixin implements ScopedBlacklistHolder {
+    @Unique
+    private BlacklistIndex item_blacklist$scopedIndex;
+
+    @Unique
+    private long item_blacklist$scopedSnapshotVersion = -1L;
+
+    @Unique
+    private long item_blacklist$scopedScopesVersion = -1L;
+
+    /** Index and predicates the inventory was last checked against. */
+    @Unique
+    private BlacklistIndex item_blacklist$checkedIndex;
+
+    @Unique
+    private BlacklistPredicates item_blacklist$checkedPredicates;
+
+    /**
+     * Armor (36-39) and offhand (40) slots. Together with the selected
+     * hotbar slot, these are written by {@code PlayerEntity.equipStack}
+     * straight to the backing lists, bypassing the dirty tracking.
+     */
+    @Unique
+    private static final long item_blacklist$EQUIPMENT_SLOTS = 0x1FL << 36;
+
+    /** Server tick of the last inventory change seen by the purge. */
+    @Unique
+    private int item_blacklist$lastChangeTick = Integer.MIN_VALUE / 2;
+
+    @Override
+    public BlacklistIndex item_blacklist$getScopedIndex() {
+        BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+        BlacklistScopes scopes = BlacklistScopes.current();
+        if (item_blacklist$scopedIndex == null
+                || item_blacklist$scopedSnapshotVersion != snapshot.version()
+                || item_blacklist$scopedScopesVersion != scopes.version()) {
+            item_blacklist$scopedIndex = scopes.resolve((ServerPlayerEntity)(Object)this, snapshot);
+            item_blacklist$scopedSnapshotVersion = snapshot.version();
+            item_blacklist$scopedScopesVersion = scopes.version();
+        }
+        return item_blacklist$scopedIndex;
+    }
+
+    @Override
+    public void item_blacklist$invalidateScope() {
+        item_blacklist$scopedIndex = null;
+    }
+
+    /**
+     * Re-resolves scopes after the player's game mode changes.
+     */
+    @Inject(
+            method = "changeGameMode",
+            at = @At("RETURN")
+    )
+    private void item_blacklist$onGameModeChange(GameMode gameMode, CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValueZ()) {
+            item_blacklist$invalidateScope();
+        }
+    }
+
+    /**
+     * Re-checks inventory slots that changed since the last tick.
+     * Full sweeps after a blacklist change, on join, and as a periodic
+     * safety net are queued on {@link BlacklistPurgeScheduler} instead.
+     */
     @Inject(
             method = "tick",
             at = @At("TAIL")
     )
     private void item_blacklist$purgeInventory(CallbackInfo ci) {
         ServerPlayerEntity player = (ServerPlayerEntity)(Object)this;
-        if (ItemBlacklist.CONFIG == null) return;
-        if (player.isCreative()) return;
-
-        for (int i = 0; i < player.getInventory().size(); i++) {
-            ItemStack stack = player.getInventory().getStack(i);
-            if (!stack.isEmpty()) {
-                var id = Registries.ITEM.getId(stack.getItem());
-                if (ItemBlacklist.CONFIG.blacklist.contains(id)) {
-                    player.getInventory().setStack(i, ItemStack.EMPTY);
-                    player.sendMessage(
-                            Text.translatable("item.blacklist.disabled")
-                                    .formatted(Formatting.RED),
-                            true
-                    );
+        BlacklistConfig config = ItemBlacklist.CONFIG;
+        if (config == null) return;
+
+        PlayerInventory inventory = player.getInventory();
+        InventoryDirtyTracker tracker = (InventoryDirtyTracker) inventory;
+        int ticks = player.server.getTicks();
+
+        BlacklistIndex index = item_blacklist$getScopedIndex();
+        BlacklistPredicates predicates = BlacklistPurgeScheduler.predicatesFor(player);
+
+        long dirty = tracker.item_blacklist$takeDirty();
+        if (dirty != 0L) item_blacklist$lastChangeTick = ticks;
+
+        if (index != item_blacklist$checkedIndex || predicates != item_blacklist$checkedPredicates) {
+            // Just joined, or the blacklist changed: recently active players go first.
+            boolean priority = item_blacklist$checkedIndex == null
+                    || ticks - item_blacklist$lastChangeTick < BlacklistPurgeScheduler.RECENT_CHANGE_TICKS;
+            item_blacklist$checkedIndex = index;
+            item_blacklist$checkedPredicates = predicates;
+            BlacklistPurgeScheduler.requestSweep(player, priority, true);
+        } else if ((ticks + player.getId()) % config.fullSweepInterval == 0) {
+            BlacklistPurgeScheduler.requestSweep(player, false, false);
+        }
+
+        if (index.size() == 0 && predicates.isEmpty()) return;
+
+        // The cursor is outside the inventory; one stack check per tick is cheap.
+        BlacklistPurgeScheduler.purgeCursor(player, player.currentScreenHandler, index, predicates, config.nestedScanDepth);
+
+        // Hand and equipment writes skip setStack, so those slots are always checked.
+        dirty |= item_blacklist$EQUIPMENT_SLOTS | (1L << inventory.selectedSlot);
+
+        int size = inventory.size();
+        while (dirty != 0L) {
+            int slot = Long.numberOfTrailingZeros(dirty);
+            dirty &= dirty - 1;
+            if (slot >= size) break;
+            if (slot == 63) {
+                for (int i = 63; i < size; i++) {
+                    BlacklistPurgeScheduler.purgeSlot(player, inventory, i, index, predicates, config.nestedScanDepth);
                 }
+            } else {
+                BlacklistPurgeScheduler.purgeSlot(player, inventory, slot, index, predicates, config.nestedScanDepth);
             }
         }
     }
-}
\ No newline at end of file
+}
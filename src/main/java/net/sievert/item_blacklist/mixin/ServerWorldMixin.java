@@ -0,0 +1,32 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.sievert.item_blacklist.BlacklistSpawnGuard;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Mixin for {@link ServerWorld}.
+ * Stops blacklisted item entities from being added to the world and
+ * strips blacklisted mob equipment, before they tick or are sent to clients.
+ */
+@Mixin(ServerWorld.class)
+public abstract class ServerWorldMixin {
+
+    /**
+     * Injects before an entity is added to the world.
+     */
+    @Inject(
+            method = "spawnEntity",
+            at = @At("HEAD"),
+            cancellable = true
+    )
+    private void item_blacklist$blockBlacklistedItems(Entity entity, CallbackInfoReturnable<Boolean> cir) {
+        if (BlacklistSpawnGuard.shouldBlock(entity)) {
+            cir.setReturnValue(false);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package net.sievert.item_blacklist.mixin;
+
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleStackStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.sievert.item_blacklist.BlacklistTransfers;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Mixin for {@link SingleStackStorage}.
+ * Voids or refuses blacklisted items inserted through the Fabric
+ * Transfer API, which backs vanilla inventory access for mod pipes.
+ */
+@Mixin(value = SingleStackStorage.class, remap = false)
+public abstract class SingleStackStorageMixin {
+
+    /**
+     * Injects before an insertion. Reporting the full amount as inserted
+     * voids it; reporting zero refuses it.
+     */
+    @Inject(
+            method = "insert(Lnet/fabricmc/fabric/api/transfer/v1/item/ItemVariant;JLnet/fabricmc/fabric/api/transfer/v1/transaction/TransactionContext;)J",
+            at = @At("HEAD"),
+            cancellable = true
+    )
+    private void item_blacklist$guardInsert(ItemVariant variant, long maxAmount, TransactionContext transaction,
+                                            CallbackInfoReturnable<Long> cir) {
+        if (!variant.isBlank() && BlacklistTransfers.isBlacklisted(variant)) {
+            cir.setReturnValue(BlacklistTransfers.shouldVoid(transaction) ? maxAmount : 0L);
+        }
+    }
+}
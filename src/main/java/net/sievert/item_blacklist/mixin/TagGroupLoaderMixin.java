@@ -1,13 +1,16 @@
 package net.sievert.item_blacklist.mixin;
 
+import net.minecraft.item.Item;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.registry.tag.TagGroupLoader;
 import net.minecraft.util.Identifier;
 import net.sievert.item_blacklist.BlacklistConfig;
+import net.sievert.item_blacklist.BlacklistSnapshot;
 import net.sievert.item_blacklist.BlacklistTags;
 import net.sievert.item_blacklist.ItemBlacklist;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
@@ -39,12 +42,18 @@ public abstract class TagGroupLoaderMixin<T> {
             CallbackInfoReturnable<Map<Identifier, Collection<T>>> cir
     ) {
         BlacklistConfig config = ItemBlacklist.CONFIG;
-        if (config == null || config.blacklist.isEmpty()) {
+        Map<Identifier, Collection<T>> original = cir.getReturnValue();
+
+        BlacklistSnapshot snapshot = BlacklistSnapshot.current();
+        if (config != null && isItemGroup(original)) {
+            snapshot = BlacklistTags.captureItemTags(original, config);
+        }
+
+        if (config == null || snapshot.isEmpty()) {
             BlacklistTags.warnNoConfig();
             return;
         }
 
-        Map<Identifier, Collection<T>> original = cir.getReturnValue();
         Map<Identifier, Collection<T>> rebuilt = new HashMap<>();
 
         for (Map.Entry<Identifier, Collection<T>> entry : original.entrySet()) {
@@ -54,8 +63,8 @@ public abstract class TagGroupLoaderMixin<T> {
             List<T> filtered = new ArrayList<>();
             for (T val : values) {
                 if (val instanceof RegistryEntry<?> regEntry) {
-                    Identifier id = regEntry.getKey().map(RegistryKey::getValue).orElse(null);
-                    if (id != null && config.blacklist.contains(id)) {
+                    if (isBlacklistedEntry(regEntry, snapshot)) {
+                        Identifier id = regEntry.getKey().map(RegistryKey::getValue).orElse(null);
                         BlacklistTags.reportRemoval(tagId, id);
                         if (config.detailedTagLog) {
                             info(TAG, "Removed " + id + " from tag " + tagId);
@@ -72,4 +81,32 @@ public abstract class TagGroupLoaderMixin<T> {
 
         BlacklistTags.reportRegistryFiltered(config.detailedTagLog);
     }
+
+    /**
+     * Returns true if the built group holds item tags.
+     */
+    @Unique
+    private static boolean isItemGroup(Map<Identifier, ? extends Collection<?>> tags) {
+        for (Collection<?> values : tags.values()) {
+            for (Object val : values) {
+                return val instanceof RegistryEntry<?> regEntry
+                        && regEntry.hasKeyAndValue()
+                        && regEntry.value() instanceof Item;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Item entries go through the compiled index; entries of other
+     * registries (e.g. blocks sharing an item's id) fall back to id lookup.
+     */
+    @Unique
+    private static boolean isBlacklistedEntry(RegistryEntry<?> regEntry, BlacklistSnapshot snapshot) {
+        if (regEntry.hasKeyAndValue() && regEntry.value() instanceof Item item) {
+            return snapshot.contains(item);
+        }
+        Identifier id = regEntry.getKey().map(RegistryKey::getValue).orElse(null);
+        return id != null && snapshot.contains(id);
+    }
 }